@@ -0,0 +1,103 @@
+package benchmark;
+
+import gui.DialogBox;
+import gui.DialogFactory;
+import gui.Message;
+import javafx.application.Platform;
+import javafx.fxml.FXML;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.control.Label;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.HBox;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cost of creating the dialog box of one chat message by loading it from FXML, as every message
+ * used to do, by building it in code, and by reusing a pooled dialog box.
+ *
+ * The JavaFX toolkit is started when the benchmark starts, so a display is needed to run it. It is left out of
+ * ./gradlew jmh unless asked for by name, e.g. with -PjmhIncludes=DialogBoxBenchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class DialogBoxBenchmark {
+    private static final String TEXT = "Got it. I've added this task:\n  [T][ ] read book\n"
+            + "Now you have 1 tasks in the list.\n";
+    private Image image;
+    private DialogFactory dialogFactory;
+    private Message message;
+
+    @Setup
+    public void setUp() {
+        try {
+            Platform.startup(() -> {});
+        } catch (IllegalStateException e) {
+            // the toolkit was already started by another benchmark in the same fork
+        } catch (UnsupportedOperationException e) {
+            throw new IllegalStateException("DialogBoxBenchmark needs a display to start JavaFX, "
+                    + "run it on a machine with one", e);
+        }
+        image = new Image(DialogBoxBenchmark.class.getResourceAsStream("/images/botImg.png"));
+        dialogFactory = new DialogFactory(image, image);
+        message = new Message(TEXT, false);
+    }
+
+    @Benchmark
+    public HBox loadFromFxml() {
+        return new FxmlDialogBox(TEXT, image);
+    }
+
+    @Benchmark
+    public HBox buildInCode() {
+        return DialogBox.getDukeDialog(TEXT, image);
+    }
+
+    @Benchmark
+    public HBox reuseFromPool() {
+        DialogBox dialogBox = dialogFactory.acquire(message);
+        dialogFactory.release(dialogBox);
+        return dialogBox;
+    }
+
+    /**
+     * Represents the dialog box as it was before, which parses its FXML every time it is constructed.
+     */
+    public static class FxmlDialogBox extends HBox {
+        @FXML
+        private Label dialog;
+        @FXML
+        private ImageView displayPicture;
+
+        FxmlDialogBox(String text, Image img) {
+            try {
+                FXMLLoader fxmlLoader = new FXMLLoader(FxmlDialogBox.class.getResource("/view/FxmlDialogBox.fxml"));
+                fxmlLoader.setController(this);
+                fxmlLoader.setRoot(this);
+                fxmlLoader.load();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            dialog.setText(text);
+            displayPicture.setImage(img);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package benchmark;
+
+import duke.DiskManager;
+import duke.TaskManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import storage.BinaryCodec;
+import storage.JsonCodec;
+import task.Task;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures saving the task list to the disk and loading it back, in each storage format, at several file sizes,
+ * and saving the marking of a single task, which only patches the done bitmap next to the storage file.
+ * The journal is enabled as it is in Duke, so these measure the configuration that is actually run.
+ * The files are written to build/tmp/jmh-storage, relative to the working directory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class DiskManagerBenchmark {
+    private static final String DIRECTORY = "build/tmp/jmh-storage";
+
+    @Param({"json", "binary", "mapped"})
+    public String format;
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private String fileName;
+    private DiskManager diskManager;
+    private TaskManager taskManager;
+    private boolean done;
+
+    @Setup
+    public void setUp() throws Exception {
+        fileName = "tasks-" + format + "-" + size;
+        diskManager = new DiskManager(DIRECTORY, fileName);
+        diskManager.setCodec("json".equals(format) ? new JsonCodec() : new BinaryCodec());
+        diskManager.setMemoryMapped("mapped".equals(format));
+        diskManager.setJournalEnabled(true);
+        taskManager = new TaskManager();
+        for (Task task : StorageCodecBenchmark.createTasks(size)) {
+            taskManager.addTask(task);
+        }
+        diskManager.saveToDisk(taskManager);
+    }
+
+    @TearDown
+    public void tearDown() {
+        new File(DIRECTORY, fileName).delete();
+        new File(DIRECTORY, fileName + ".journal").delete();
+        new File(DIRECTORY, fileName + ".done").delete();
+    }
+
+    @Benchmark
+    public void saveToDisk() throws Exception {
+        diskManager.saveToDisk(taskManager);
+    }
+
+    @Benchmark
+    public TaskManager loadFromDisk() throws Exception {
+        return diskManager.loadFromDisk();
+    }
+
+    @Benchmark
+    public void saveMarkedTask() throws Exception {
+        done = !done;
+        taskManager.markTask(size / 2, done);
+        diskManager.saveMarkedTask(taskManager, size / 2, done);
+    }
+}
@@ -0,0 +1,43 @@
+package benchmark;
+
+import command.Command;
+import duke.Parser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the time taken to parse each kind of command by the tokenizer in Parser and by the Scanner
+ * and regular expressions in LegacyParser.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ParserBenchmark {
+    @Param({"list", "list 2 --page-size 50", "mark 12", "unmark 12", "delete 3", "delete 3-500", "todo read book",
+            "deadline return book /by 2023-06-06", "event project meeting /from 2023-08-06 /to 2023-08-07",
+            "find book", "bye"})
+    public String input;
+
+    @Benchmark
+    public Command tokenizer() throws Exception {
+        return Parser.parseCommand(input);
+    }
+
+    @Benchmark
+    public Command legacy() throws Exception {
+        return LegacyParser.parseCommand(input);
+    }
+}
@@ -0,0 +1,96 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import storage.BinaryCodec;
+import storage.JsonCodec;
+import storage.StorageCodec;
+import task.Deadline;
+import task.Event;
+import task.Task;
+import task.Todo;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the speed of saving and loading the task list in the JSON and binary storage formats.
+ * The size of the encoded task list in each format is printed when the benchmark starts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class StorageCodecBenchmark {
+    @Param({"json", "binary"})
+    public String format;
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private StorageCodec codec;
+    private List<Task> tasks;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws Exception {
+        codec = "binary".equals(format) ? new BinaryCodec() : new JsonCodec();
+        tasks = createTasks(size);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        codec.encode(tasks, out);
+        encoded = out.toByteArray();
+        System.out.println(format + " encodes " + size + " tasks in " + encoded.length + " bytes");
+    }
+
+    /**
+     * Creates a task list with an even mix of to-do, deadline and event tasks.
+     */
+    static List<Task> createTasks(int size) {
+        List<Task> tasks = new ArrayList<>(size);
+        LocalDate date = LocalDate.of(2023, 1, 1);
+        for (int i = 0; i < size; ++i) {
+            Task task;
+            switch (i % 3) {
+                case 0:
+                    task = new Todo("read book " + i);
+                    break;
+                case 1:
+                    task = new Deadline("return book " + i, date.plusDays(i % 365));
+                    break;
+                default:
+                    task = new Event("project meeting " + i, date.plusDays(i % 365), date.plusDays(i % 365 + 2));
+                    break;
+            }
+            task.markTask(i % 2 == 0);
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    @Benchmark
+    public byte[] encode() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(encoded.length);
+        codec.encode(tasks, out);
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public List<Task> decode() throws Exception {
+        return codec.decode(new ByteArrayInputStream(encoded));
+    }
+}
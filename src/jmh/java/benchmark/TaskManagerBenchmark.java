@@ -0,0 +1,79 @@
+package benchmark;
+
+import duke.TaskManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import task.Task;
+import task.Todo;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the operations of the task manager on task lists of different sizes.
+ *
+ * The benchmarks that add or delete a task undo their change in the same invocation, so that the size of the list
+ * stays the same throughout a run. Their time is therefore that of an addition and a deletion together.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class TaskManagerBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private TaskManager taskManager;
+    private Task spare;
+
+    @Setup
+    public void setUp() {
+        taskManager = new TaskManager();
+        for (Task task : StorageCodecBenchmark.createTasks(size)) {
+            taskManager.addTask(task);
+        }
+        spare = new Todo("spare task");
+        // build the description index before measuring, as the first find would
+        taskManager.find("book");
+    }
+
+    @Benchmark
+    public String addTask() throws Exception {
+        String res = taskManager.addTask(spare);
+        taskManager.deleteTask(size + 1);
+        return res;
+    }
+
+    @Benchmark
+    public String deleteTask() throws Exception {
+        Task task = taskManager.getTasks().get(size / 2);
+        String res = taskManager.deleteTask(size / 2 + 1);
+        taskManager.addTask(task);
+        return res;
+    }
+
+    @Benchmark
+    public String findRare() {
+        return taskManager.find("meeting " + (size - 1));
+    }
+
+    @Benchmark
+    public String findShortPattern() {
+        return taskManager.find("k 9");
+    }
+
+    @Benchmark
+    public String listTasks() {
+        return taskManager.listTasks();
+    }
+}
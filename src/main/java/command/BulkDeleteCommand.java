@@ -0,0 +1,47 @@
+package command;
+
+import duke.DiskManager;
+import duke.DukeException;
+import duke.TaskManager;
+import duke.TaskSelection;
+
+/**
+ * Represents a delete command on many tasks, where when executed, deletes every selected task in one pass
+ * and saves them as a single change.
+ */
+public class BulkDeleteCommand extends Command {
+    private TaskSelection selection;
+
+    /**
+     * Constructs a BulkDeleteCommand.
+     *
+     * @param selection The selection of tasks to be deleted.
+     */
+    public BulkDeleteCommand(TaskSelection selection) {
+        this.selection = selection;
+    }
+
+    @Override
+    public boolean isExit() {
+        return false;
+    }
+
+    @Override
+    public String execute(TaskManager taskManager, DiskManager diskManager) throws DukeException {
+        int[] indices = taskManager.selectTasks(selection);
+        String res = taskManager.deleteTasks(indices);
+        if (indices.length > 0) {
+            diskManager.saveDeletedTasks(taskManager, indices);
+        }
+        return res;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (other instanceof BulkDeleteCommand) {
+            BulkDeleteCommand temp = (BulkDeleteCommand) other;
+            return temp.selection.equals(this.selection);
+        }
+        return false;
+    }
+}
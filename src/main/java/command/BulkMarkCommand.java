@@ -0,0 +1,50 @@
+package command;
+
+import duke.DiskManager;
+import duke.DukeException;
+import duke.TaskManager;
+import duke.TaskSelection;
+
+/**
+ * Represents a mark or unmark command on many tasks, where when executed, marks every selected task
+ * and saves them as a single change.
+ */
+public class BulkMarkCommand extends Command {
+    private TaskSelection selection;
+    private boolean done;
+
+    /**
+     * Constructs a BulkMarkCommand.
+     *
+     * @param selection The selection of tasks to be marked.
+     * @param done Whether to mark the tasks as done or not.
+     */
+    public BulkMarkCommand(TaskSelection selection, boolean done) {
+        this.selection = selection;
+        this.done = done;
+    }
+
+    @Override
+    public boolean isExit() {
+        return false;
+    }
+
+    @Override
+    public String execute(TaskManager taskManager, DiskManager diskManager) throws DukeException {
+        int[] indices = taskManager.selectTasks(selection);
+        String res = taskManager.markTasks(indices, done);
+        if (indices.length > 0) {
+            diskManager.saveMarkedTasks(taskManager, indices, done);
+        }
+        return res;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (other instanceof BulkMarkCommand) {
+            BulkMarkCommand temp = (BulkMarkCommand) other;
+            return temp.selection.equals(this.selection) && temp.done == this.done;
+        }
+        return false;
+    }
+}
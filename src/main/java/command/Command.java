@@ -8,6 +8,15 @@ import duke.TaskManager;
  * Represents a command that can be executed, performing specific tasks when doing so.
  */
 public abstract class Command {
+    private static final String SUFFIX = "Command";
+    private static final ClassValue<String> NAMES = new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> type) {
+            String name = type.getSimpleName();
+            return (name.endsWith(SUFFIX) ? name.substring(0, name.length() - SUFFIX.length()) : name).toLowerCase();
+        }
+    };
+
     /**
      * Checks whether this command is an exit command.
      *
@@ -15,6 +24,24 @@ public abstract class Command {
      */
     public abstract boolean isExit();
 
+    /**
+     * Checks whether this command only reads the task list, so that it may run concurrently with other commands.
+     *
+     * @return True if command does not modify the task list or the disk.
+     */
+    public boolean isReadOnly() {
+        return false;
+    }
+
+    /**
+     * Returns the name of this type of command, under which its metrics are recorded.
+     *
+     * @return The name of the class of this command without the Command suffix, in lower case.
+     */
+    public String getName() {
+        return NAMES.get(getClass());
+    }
+
     /**
      * Executes this command.
      *
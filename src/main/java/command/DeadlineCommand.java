@@ -35,8 +35,9 @@ public class DeadlineCommand extends Command {
 
     @Override
     public String execute(TaskManager taskManager, DiskManager diskManager) throws DukeException {
-        String res = taskManager.addTask(new Deadline(description, deadline));
-        diskManager.saveToDisk(taskManager);
+        Deadline task = new Deadline(description, deadline);
+        String res = taskManager.addTask(task);
+        diskManager.saveAddedTask(taskManager, task);
         return res;
     }
 
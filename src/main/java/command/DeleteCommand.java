@@ -27,7 +27,7 @@ public class DeleteCommand extends Command {
     @Override
     public String execute(TaskManager taskManager, DiskManager diskManager) throws DukeException {
         String res = taskManager.deleteTask(index);
-        diskManager.saveToDisk(taskManager);
+        diskManager.saveDeletedTask(taskManager, index);
         return res;
     }
 
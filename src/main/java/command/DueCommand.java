@@ -0,0 +1,54 @@
+package command;
+
+import duke.DiskManager;
+import duke.DukeException;
+import duke.TaskManager;
+
+import java.time.LocalDate;
+
+/**
+ * Represents a due command where when executed,
+ * finds all deadlines due and events happening within a range of dates.
+ */
+public class DueCommand extends Command {
+    private LocalDate from;
+    private LocalDate to;
+
+    /**
+     * Constructs a DueCommand with the range of dates.
+     *
+     * @param from The first date of the range.
+     * @param to The last date of the range.
+     */
+    public DueCommand(LocalDate from, LocalDate to) {
+        this.from = from;
+        this.to = to;
+
+        assert this.from != null && this.to != null : "dates of due command should not be null";
+        assert !this.to.isBefore(this.from) : "range of due command should not end before it starts";
+    }
+
+    @Override
+    public boolean isExit() {
+        return false;
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    @Override
+    public String execute(TaskManager taskManager, DiskManager diskManager) throws DukeException {
+        return taskManager.findByDate(from, to);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (other instanceof DueCommand) {
+            DueCommand temp = (DueCommand) other;
+            return temp.from.equals(this.from) && temp.to.equals(this.to);
+        }
+        return false;
+    }
+}
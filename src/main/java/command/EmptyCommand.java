@@ -13,6 +13,11 @@ public class EmptyCommand extends Command {
         return false;
     }
 
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
     @Override
     public String execute(TaskManager taskManager, DiskManager diskManager) throws DukeException{
         throw new DukeException("Oops!!! You forgot to input the command.");
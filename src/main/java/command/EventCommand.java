@@ -39,8 +39,9 @@ public class EventCommand extends Command {
 
     @Override
     public String execute(TaskManager taskManager, DiskManager diskManager) throws DukeException {
-        String res = taskManager.addTask(new Event(description, start, end));
-        diskManager.saveToDisk(taskManager);
+        Event task = new Event(description, start, end);
+        String res = taskManager.addTask(task);
+        diskManager.saveAddedTask(taskManager, task);
         return res;
     }
 
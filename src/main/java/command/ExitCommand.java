@@ -1,6 +1,7 @@
 package command;
 
 import duke.DiskManager;
+import duke.DukeException;
 import duke.TaskManager;
 
 /**
@@ -13,7 +14,8 @@ public class ExitCommand extends Command {
     }
 
     @Override
-    public String execute(TaskManager taskManager, DiskManager diskManager) {
+    public String execute(TaskManager taskManager, DiskManager diskManager) throws DukeException {
+        diskManager.flush();
         return "";
     }
 
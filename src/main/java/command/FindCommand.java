@@ -27,6 +27,11 @@ public class FindCommand extends Command {
         return false;
     }
 
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
     @Override
     public String execute(TaskManager taskManager, DiskManager diskManager) throws DukeException {
         return taskManager.find(pattern);
@@ -1,12 +1,31 @@
 package command;
 
 import duke.DiskManager;
+import duke.DukeException;
 import duke.TaskManager;
 
 /**
- * Represents a list command where when executed, prints the list of current tasks to the ui.
+ * Represents a list command where when executed, prints a page of the current tasks to the ui.
  */
 public class ListCommand extends Command {
+    private int page;
+    private int pageSize;
+
+    /** Constructs a ListCommand that lists the first page of tasks. */
+    public ListCommand() {
+        this(1, TaskManager.DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * Constructs a ListCommand that lists the given page of tasks.
+     *
+     * @param page The page to be listed(1-indexed).
+     * @param pageSize The number of tasks on each page.
+     */
+    public ListCommand(int page, int pageSize) {
+        this.page = page;
+        this.pageSize = pageSize;
+    }
 
     @Override
     public boolean isExit() {
@@ -14,12 +33,21 @@ public class ListCommand extends Command {
     }
 
     @Override
-    public String execute(TaskManager taskManager, DiskManager diskManager) {
-        return taskManager.listTasks();
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    @Override
+    public String execute(TaskManager taskManager, DiskManager diskManager) throws DukeException {
+        return taskManager.listTasks(page, pageSize);
     }
 
     @Override
     public boolean equals(Object other) {
-        return other instanceof ListCommand;
+        if (other instanceof ListCommand) {
+            ListCommand temp = (ListCommand) other;
+            return temp.page == this.page && temp.pageSize == this.pageSize;
+        }
+        return false;
     }
 }
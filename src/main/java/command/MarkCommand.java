@@ -27,7 +27,7 @@ public class MarkCommand extends Command {
     @Override
     public String execute(TaskManager taskManager, DiskManager diskManager) throws DukeException {
         String res = taskManager.markTask(index, true);
-        diskManager.saveToDisk(taskManager);
+        diskManager.saveMarkedTask(taskManager, index, true);
         return res;
     }
 
@@ -0,0 +1,29 @@
+package command;
+
+import duke.Change;
+import duke.DiskManager;
+import duke.DukeException;
+import duke.TaskManager;
+
+/**
+ * Represents a redo command where when executed, makes again the change to the task list that was undone last,
+ * and saves it.
+ */
+public class RedoCommand extends Command {
+    @Override
+    public boolean isExit() {
+        return false;
+    }
+
+    @Override
+    public String execute(TaskManager taskManager, DiskManager diskManager) throws DukeException {
+        Change change = taskManager.redo();
+        diskManager.saveChange(taskManager, change);
+        return "Redone! " + change.describe();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof RedoCommand;
+    }
+}
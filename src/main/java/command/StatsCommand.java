@@ -0,0 +1,69 @@
+package command;
+
+import duke.DiskManager;
+import duke.DukeException;
+import duke.TaskManager;
+import metrics.CommandMetrics;
+import metrics.LatencySnapshot;
+import metrics.Metrics;
+
+/**
+ * Represents a stats command where when executed,
+ * shows the number and latency of the commands executed so far, and the use of the disk.
+ */
+public class StatsCommand extends Command {
+    @Override
+    public boolean isExit() {
+        return false;
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    @Override
+    public String execute(TaskManager taskManager, DiskManager diskManager) throws DukeException {
+        Metrics metrics = diskManager.getMetrics();
+        StringBuilder sb = new StringBuilder();
+        sb.append("Here are the statistics since Orion started:\n");
+        sb.append("Tasks in your list: ").append(taskManager.getTaskCount()).append('\n');
+        LatencySnapshot writes = metrics.getWriteLatency();
+        sb.append("Disk: ").append(formatBytes(metrics.getBytesRead())).append(" read, ")
+                .append(formatBytes(metrics.getBytesWritten())).append(" written in ")
+                .append(writes.getCount()).append(" writes");
+        if (writes.getCount() > 0) {
+            sb.append(" (").append(writes).append(')');
+        }
+        sb.append('\n');
+
+        for (CommandMetrics command : metrics.getCommands()) {
+            sb.append(command.getName()).append(": ").append(command.getCount()).append(" executed, ")
+                    .append(command.getErrorCount()).append(" failed\n");
+            sb.append("  parse ").append(command.getParseLatency()).append('\n');
+            LatencySnapshot execute = command.getExecuteLatency();
+            if (execute.getCount() > 0) {
+                sb.append("  execute ").append(execute).append('\n');
+            }
+            LatencySnapshot save = command.getSaveLatency();
+            if (save.getCount() > 0) {
+                sb.append("  save ").append(save).append('\n');
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String formatBytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        } else if (bytes < 1024 * 1024) {
+            return String.format("%.1f KB", bytes / 1024.0);
+        }
+        return String.format("%.1f MB", bytes / (1024.0 * 1024));
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof StatsCommand;
+    }
+}
@@ -28,8 +28,9 @@ public class TodoCommand extends Command {
 
     @Override
     public String execute(TaskManager taskManager, DiskManager diskManager) throws DukeException {
-        String res = taskManager.addTask(new Todo(description));
-        diskManager.saveToDisk(taskManager);
+        Todo task = new Todo(description);
+        String res = taskManager.addTask(task);
+        diskManager.saveAddedTask(taskManager, task);
         return res;
     }
 
@@ -0,0 +1,29 @@
+package command;
+
+import duke.Change;
+import duke.DiskManager;
+import duke.DukeException;
+import duke.TaskManager;
+
+/**
+ * Represents an undo command where when executed, reverts the latest change to the task list
+ * that has not been undone, and saves the reverting change.
+ */
+public class UndoCommand extends Command {
+    @Override
+    public boolean isExit() {
+        return false;
+    }
+
+    @Override
+    public String execute(TaskManager taskManager, DiskManager diskManager) throws DukeException {
+        Change change = taskManager.undo();
+        diskManager.saveChange(taskManager, change);
+        return "Undone! " + change.describe();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof UndoCommand;
+    }
+}
@@ -27,7 +27,7 @@ public class UnmarkCommand extends Command {
     @Override
     public String execute(TaskManager taskManager, DiskManager diskManager) throws DukeException {
         String res = taskManager.markTask(index, false);
-        diskManager.saveToDisk(taskManager);
+        diskManager.saveMarkedTask(taskManager, index, false);
         return res;
     }
 
@@ -0,0 +1,129 @@
+package duke;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * Represents a runner that executes commands read line by line from a file or the standard input,
+ * without starting the user interface, and writes the responses to the standard output. Blank lines are skipped.
+ *
+ * Usage: {@code BatchRunner [--no-echo] [--data <storage file>] [commands file]}.
+ * With --no-echo, responses are not written at all, and only the number of commands executed and the time taken
+ * are reported on the standard error, so that large imports and load tests are not slowed down by the output.
+ */
+public class BatchRunner {
+    private static final String FLAG_NO_ECHO = "--no-echo";
+    private static final String FLAG_DATA = "--data";
+    private static final String DEFAULT_DATA_FILE = "data/tasks.json";
+    private static final String LOGO = " ____        _        \n"
+            + "|  _ \\ _   _| | _____ \n"
+            + "| | | | | | | |/ / _ \\\n"
+            + "| |_| | |_| |   <  __/\n"
+            + "|____/ \\__,_|_|\\_\\___|\n";
+    private static final String DIVIDER = "\u2500".repeat(60);
+    private static final String FAREWELL = "Bye. Hope to see you again soon!\n";
+
+    private final Duke duke;
+    private final boolean isEchoing;
+
+    /**
+     * Constructs a BatchRunner that executes commands on the tasks stored in the given file.
+     *
+     * @param dataFile The file the tasks are stored in, relative to the working directory.
+     * @param isEchoing Whether the responses are written out.
+     */
+    public BatchRunner(File dataFile, boolean isEchoing) {
+        String directory = dataFile.getParent() == null ? "." : dataFile.getParent();
+        this.duke = new Duke(directory, dataFile.getName());
+        this.isEchoing = isEchoing;
+    }
+
+    /**
+     * Executes every command read from the reader until the input ends or an exit command is executed.
+     *
+     * @param reader The reader of the commands, one on each line.
+     * @param writer The writer of the responses.
+     * @return The number of commands executed.
+     * @throws IOException If the commands could not be read or the responses could not be written.
+     */
+    public long run(BufferedReader reader, Writer writer) throws IOException {
+        if (isEchoing) {
+            writer.write("Hello from\n" + LOGO + "\n");
+            writeResponse(writer, "Hello! I'm Orion\nWhat can I do for you?\n");
+        }
+
+        long count = 0;
+        String line;
+        while (!duke.isExited() && (line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            String response = duke.execute(line);
+            count++;
+            if (isEchoing) {
+                // the exit command has no response of its own, the farewell is written once it is executed
+                if (!response.isEmpty()) {
+                    writeResponse(writer, response);
+                }
+                if (duke.isExited()) {
+                    writeResponse(writer, FAREWELL);
+                }
+                if (!reader.ready()) {
+                    // the next command has not arrived yet, show the responses so far to whoever is typing
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    private static void writeResponse(Writer writer, String response) throws IOException {
+        writer.write(DIVIDER);
+        writer.write('\n');
+        writer.write(response.stripTrailing());
+        writer.write("\n\n");
+    }
+
+    public static void main(String[] args) throws IOException {
+        boolean isEchoing = true;
+        String dataFile = DEFAULT_DATA_FILE;
+        String commandsFile = null;
+        for (int i = 0; i < args.length; ++i) {
+            if (FLAG_NO_ECHO.equals(args[i])) {
+                isEchoing = false;
+            } else if (FLAG_DATA.equals(args[i]) && i + 1 < args.length) {
+                dataFile = args[++i];
+            } else if (commandsFile == null && !args[i].startsWith("--")) {
+                commandsFile = args[i];
+            } else {
+                System.err.println("Usage: BatchRunner [--no-echo] [--data <storage file>] [commands file]");
+                System.exit(1);
+            }
+        }
+
+        BatchRunner runner = new BatchRunner(new File(dataFile), isEchoing);
+        long start = System.nanoTime();
+        long count;
+        try (BufferedReader reader = commandsFile == null
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(Paths.get(commandsFile), StandardCharsets.UTF_8);
+                Writer writer = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))) {
+            count = runner.run(reader, writer);
+        }
+
+        if (!isEchoing) {
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            System.err.println("Executed " + count + " commands in " + millis + " ms ("
+                    + (millis == 0 ? count : count * 1000 / millis) + " commands per second)");
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package duke;
+
+import task.Task;
+
+import java.util.Arrays;
+
+/**
+ * Represents a change made to the task list by a single command, recorded so that it can be undone and redone.
+ *
+ * A change only holds the tasks it affected and their indices, never a copy of the task list, and its inverse
+ * shares them, so recording and undoing a change take time and memory independent of the length of the list.
+ */
+public final class Change {
+    /**
+     * Represents the kinds of changes, where inserting and deleting the same tasks are inverses of each other,
+     * and so are marking the same tasks as done and as not done.
+     */
+    public enum Kind {
+        INSERT, DELETE, MARK
+    }
+
+    private final Kind kind;
+    private final int[] indices;
+    private final Task[] tasks;
+    private final boolean done;
+
+    private Change(Kind kind, int[] indices, Task[] tasks, boolean done) {
+        this.kind = kind;
+        this.indices = indices;
+        this.tasks = tasks;
+        this.done = done;
+
+        assert indices.length == tasks.length : "every index of a change should have its task";
+    }
+
+    /**
+     * Returns the insertion of the tasks, at the indices(1-indexed, ascending) they have once all are inserted.
+     */
+    static Change insert(int[] indices, Task[] tasks) {
+        return new Change(Kind.INSERT, indices, tasks, false);
+    }
+
+    /**
+     * Returns the deletion of the tasks, at the indices(1-indexed, ascending) they had before any was deleted.
+     */
+    static Change delete(int[] indices, Task[] tasks) {
+        return new Change(Kind.DELETE, indices, tasks, false);
+    }
+
+    /**
+     * Returns the marking of the tasks at the indices(1-indexed, ascending), which should only include
+     * the tasks whose done status was changed by the marking.
+     */
+    static Change mark(int[] indices, Task[] tasks, boolean done) {
+        return new Change(Kind.MARK, indices, tasks, done);
+    }
+
+    /**
+     * Returns the change that reverts this change.
+     *
+     * @return The inverse of this change.
+     */
+    public Change inverse() {
+        switch (kind) {
+            case INSERT:
+                return delete(indices, tasks);
+            case DELETE:
+                return insert(indices, tasks);
+            default:
+                return mark(indices, tasks, !done);
+        }
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public int[] getIndices() {
+        return indices;
+    }
+
+    public Task[] getTasks() {
+        return tasks;
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    /**
+     * Describes this change and the tasks affected by it.
+     *
+     * @return The string description of the change.
+     */
+    public String describe() {
+        String count = TaskManager.describeCount(tasks.length);
+        String tasksDescription = TaskManager.describeTasks(Arrays.asList(tasks));
+        switch (kind) {
+            case INSERT:
+                return "I've put back " + count + ":\n" + tasksDescription;
+            case DELETE:
+                return "I've removed " + count + ":\n" + tasksDescription;
+            default:
+                return "I've marked " + count + (done ? " as done:\n" : " as not done yet:\n") + tasksDescription;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package duke;
+
+import java.util.Arrays;
+
+/**
+ * Represents the history of the latest changes made to the task list, for undoing and redoing them.
+ *
+ * The changes are kept in a ring buffer of a fixed capacity, where recording a change past the capacity overwrites
+ * the oldest change. Undoing and redoing a change take constant time, and so does recording one, apart from
+ * discarding the changes that were undone and not redone, which happens at most once for every recorded change.
+ */
+class ChangeHistory {
+    private final Change[] changes;
+    private int end;
+    private int undoableCount;
+    private int redoableCount;
+
+    /**
+     * Constructs an empty ChangeHistory.
+     *
+     * @param capacity The number of changes that can be undone at most.
+     */
+    ChangeHistory(int capacity) {
+        assert capacity > 0 : "history should be able to hold a change";
+        this.changes = new Change[capacity];
+    }
+
+    /**
+     * Records a change that was just made.
+     *
+     * @param change The change.
+     */
+    void record(Change change) {
+        changes[end] = change;
+        // forget the other changes that were undone, which no longer apply after this change
+        for (int i = 1; i < redoableCount; ++i) {
+            changes[(end + i) % changes.length] = null;
+        }
+        end = (end + 1) % changes.length;
+        undoableCount = Math.min(undoableCount + 1, changes.length);
+        redoableCount = 0;
+    }
+
+    /**
+     * Takes the latest change that has not been undone, to be undone by the caller.
+     *
+     * @return The change, or null if there is no change to undo.
+     */
+    Change undo() {
+        if (undoableCount == 0) {
+            return null;
+        }
+        end = (end - 1 + changes.length) % changes.length;
+        undoableCount--;
+        redoableCount++;
+        return changes[end];
+    }
+
+    /**
+     * Takes the change undone last, to be made again by the caller.
+     *
+     * @return The change, or null if there is no change to redo.
+     */
+    Change redo() {
+        if (redoableCount == 0) {
+            return null;
+        }
+        Change change = changes[end];
+        end = (end + 1) % changes.length;
+        undoableCount++;
+        redoableCount--;
+        return change;
+    }
+
+    /**
+     * Forgets every change.
+     */
+    void clear() {
+        Arrays.fill(changes, null);
+        end = 0;
+        undoableCount = 0;
+        redoableCount = 0;
+    }
+}
@@ -0,0 +1,113 @@
+package duke;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents a table from command keywords to their entries, looked up by walking a trie over the characters
+ * of the keyword in the input, without creating a string for the keyword.
+ *
+ * A keyword can also be looked up by any prefix of it that no other abbreviable keyword starts with,
+ * and by aliases, which have to be typed in full. Keywords and aliases are made of lowercase ASCII letters.
+ *
+ * @param <T> The type of the entries.
+ */
+class CommandTable<T> {
+    private static final int ALPHABET_SIZE = 26;
+    private final Node<T> root = new Node<>();
+
+    /**
+     * Registers a keyword.
+     *
+     * @param keyword The keyword.
+     * @param entry The entry of the keyword.
+     * @param isAbbreviable Whether the keyword may be abbreviated to a prefix of it.
+     */
+    void register(String keyword, T entry, boolean isAbbreviable) {
+        Node<T> node = root;
+        for (int i = 0; i < keyword.length(); ++i) {
+            if (isAbbreviable) {
+                node.addAbbreviation(keyword, entry);
+            }
+            node = node.childOrCreate(keyword.charAt(i));
+        }
+        assert node.entry == null : "keyword should only be registered once";
+        node.entry = entry;
+    }
+
+    /**
+     * Registers an alias of a keyword, which can only be looked up in full.
+     *
+     * @param alias The alias.
+     * @param entry The entry of the keyword.
+     */
+    void alias(String alias, T entry) {
+        Node<T> node = root;
+        for (int i = 0; i < alias.length(); ++i) {
+            node = node.childOrCreate(alias.charAt(i));
+        }
+        assert node.entry == null : "alias should not take the place of a keyword";
+        node.entry = entry;
+    }
+
+    /**
+     * Looks up the characters of the text in the range as a keyword, an alias or an abbreviation.
+     *
+     * @param text The text.
+     * @param from The index of the first character of the range.
+     * @param to The index after the last character of the range.
+     * @return The entry found, or null if the range matches nothing.
+     * @throws DukeException If the range abbreviates more than one keyword.
+     */
+    T find(String text, int from, int to) throws DukeException {
+        Node<T> node = root;
+        for (int i = from; i < to && node != null; ++i) {
+            node = node.child(text.charAt(i));
+        }
+        if (node == null || from == to) {
+            return null;
+        }
+        if (node.entry != null) {
+            return node.entry;
+        }
+        if (node.abbreviatedKeywords.size() > 1) {
+            throw new DukeException("Oops!!! " + text.substring(from, to) + " could mean "
+                    + String.join(" or ", node.abbreviatedKeywords) + ", please type more of the command");
+        }
+        return node.abbreviation;
+    }
+
+    /**
+     * Represents a node of the trie, holding the entry of the keyword or alias ending at it, and the abbreviable
+     * keywords passing through it, with the entry of the only one if there is only one.
+     */
+    private static class Node<T> {
+        private Node<T>[] children;
+        private T entry;
+        private T abbreviation;
+        private final List<String> abbreviatedKeywords = new ArrayList<>(1);
+
+        Node<T> child(char c) {
+            int i = c - 'a';
+            return children == null || i < 0 || i >= ALPHABET_SIZE ? null : children[i];
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Node<T> childOrCreate(char c) {
+            assert c >= 'a' && c <= 'z' : "keywords should be made of lowercase ASCII letters";
+            if (children == null) {
+                children = (Node<T>[]) new Node[ALPHABET_SIZE];
+            }
+            int i = c - 'a';
+            if (children[i] == null) {
+                children[i] = new Node<>();
+            }
+            return children[i];
+        }
+
+        void addAbbreviation(String keyword, T entry) {
+            abbreviatedKeywords.add(keyword);
+            abbreviation = abbreviatedKeywords.size() == 1 ? entry : null;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package duke;
+
+import task.Deadline;
+import task.Event;
+import task.Task;
+import task.TaskChangeListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Represents an index from dates to the Deadline and Event tasks on them, which finds the tasks
+ * due or happening within a range of days without checking every task.
+ *
+ * Deadlines are kept in a sorted map from the epoch day of the deadline to the tasks due on it,
+ * and events are kept in an interval tree of the days from their start to their end.
+ * Only the Deadline and Event tasks are numbered, and their positions are kept by a DatedPositions,
+ * so the other tasks take no memory in this index.
+ */
+class DateIndex implements TaskChangeListener {
+    private final DatedPositions positions;
+    private final Map<Task, Integer> ids;
+    private final TreeMap<Long, PostingList> deadlines;
+    private final IntervalTree events;
+    private final Map<Integer, long[]> indexedDays;
+
+    /**
+     * Constructs a DateIndex over the task list. Every task added to or removed from the list
+     * afterwards should be reported to this index.
+     *
+     * @param tasks The task list.
+     */
+    DateIndex(List<Task> tasks) {
+        this.positions = new DatedPositions();
+        this.ids = new IdentityHashMap<>();
+        this.deadlines = new TreeMap<>();
+        this.events = new IntervalTree();
+        this.indexedDays = new HashMap<>();
+        for (Task task : tasks) {
+            add(task);
+        }
+    }
+
+    /**
+     * Indexes a task that was just added to the end of the task list.
+     *
+     * @param task The task added.
+     */
+    void add(Task task) {
+        if (!isDated(task)) {
+            positions.appendUnnumbered();
+            return;
+        }
+        int id = positions.append();
+        ids.put(task, id);
+        addDays(id, task);
+        task.addListener(this);
+    }
+
+    /**
+     * Indexes a task that was just inserted into the task list before its end.
+     *
+     * @param task The task inserted.
+     * @param position The position(0-indexed) of the task in the list.
+     * @return True if the task was indexed, false if the index has to be built again to include it.
+     */
+    boolean insert(Task task, int position) {
+        if (!isDated(task)) {
+            positions.insertUnnumbered(position);
+            return true;
+        }
+        Integer id = positions.insert(position);
+        if (id == null) {
+            return false;
+        }
+        ids.put(task, id);
+        addDays(id, task);
+        task.addListener(this);
+        return true;
+    }
+
+    /**
+     * Stops listening to the changes of the indexed tasks, once this index is no longer used.
+     */
+    void detach() {
+        for (Task task : ids.keySet()) {
+            task.removeListener(this);
+        }
+    }
+
+    /**
+     * Removes a task that was just removed from the task list from the index.
+     *
+     * @param task The task removed.
+     * @param position The position(0-indexed) the task had in the list.
+     */
+    void remove(Task task, int position) {
+        Integer id = ids.remove(task);
+        if (id == null) {
+            positions.removeUnnumbered(position);
+            return;
+        }
+        positions.remove(id);
+        removeDays(id);
+        task.removeListener(this);
+    }
+
+    @Override
+    public void onDatesChanged(Task task) {
+        Integer id = ids.get(task);
+        if (id == null) {
+            return;
+        }
+        removeDays(id);
+        addDays(id, task);
+    }
+
+    private static boolean isDated(Task task) {
+        return task instanceof Deadline || task instanceof Event;
+    }
+
+    private void addDays(int id, Task task) {
+        if (task instanceof Deadline) {
+            LocalDate deadline = ((Deadline) task).getDeadline();
+            if (deadline == null) {
+                return;
+            }
+            long day = deadline.toEpochDay();
+            deadlines.computeIfAbsent(day, key -> new PostingList()).add(id);
+            indexedDays.put(id, new long[] {day});
+        } else {
+            Event event = (Event) task;
+            if (event.getStart() == null || event.getEnd() == null) {
+                return;
+            }
+            long start = event.getStart().toEpochDay();
+            long end = Math.max(start, event.getEnd().toEpochDay());
+            events.add(start, end, id);
+            indexedDays.put(id, new long[] {start, end});
+        }
+    }
+
+    private void removeDays(int id) {
+        long[] days = indexedDays.remove(id);
+        if (days == null) {
+            return;
+        }
+        if (days.length == 1) {
+            PostingList posting = deadlines.get(days[0]);
+            posting.remove(id);
+            if (posting.isEmpty()) {
+                deadlines.remove(days[0]);
+            }
+        } else {
+            events.remove(days[0], id);
+        }
+    }
+
+    /**
+     * Finds the deadlines within the range of days, and the events overlapping it.
+     *
+     * @param from The first day of the range.
+     * @param to The last day of the range.
+     * @return The positions(0-indexed) of the tasks found in the task list, in ascending order.
+     */
+    List<Integer> find(LocalDate from, LocalDate to) {
+        IntList ids = new IntList();
+        for (PostingList posting : deadlines.subMap(from.toEpochDay(), true, to.toEpochDay(), true).values()) {
+            for (int i = 0; i < posting.size(); ++i) {
+                ids.add(posting.get(i));
+            }
+        }
+        events.findOverlapping(from.toEpochDay(), to.toEpochDay(), ids::add);
+
+        // numbers increase along the task list, so sorting them sorts the tasks by position
+        int[] sortedIds = ids.toArray();
+        Arrays.sort(sortedIds);
+        List<Integer> found = new ArrayList<>(sortedIds.length);
+        for (int id : sortedIds) {
+            found.add(positions.positionOf(id));
+        }
+        return found;
+    }
+
+    /**
+     * Represents a growable array of ints, to collect task numbers without boxing them.
+     */
+    private static class IntList {
+        private int[] values = new int[16];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package duke;
+
+import java.util.Arrays;
+
+/**
+ * Represents the positions in the task list of the tasks numbered by a DateIndex, which are only the Deadline and
+ * Event tasks, without numbering the other tasks between them.
+ *
+ * The numbers increase along the task list. Every numbered task has a weight of one plus the number of tasks
+ * that are not numbered right before it, kept in a Fenwick tree by number, so the position of a task is the sum
+ * of the weights up to its number, and the numbered task at or after a position is found by searching the sums.
+ * Every operation takes O(log n) time, where n is the number of numbers given out.
+ */
+class DatedPositions {
+    private static final int INITIAL_CAPACITY = 16;
+    private int[] weights;
+    private int[] tree;
+    private int nextId;
+    private int trailingCount;
+
+    /** Constructs a DatedPositions over an empty task list. */
+    DatedPositions() {
+        this.weights = new int[INITIAL_CAPACITY];
+        this.tree = new int[INITIAL_CAPACITY + 1];
+    }
+
+    /**
+     * Numbers a task that was just added to the end of the task list.
+     *
+     * @return The number of the task.
+     */
+    int append() {
+        if (nextId == weights.length) {
+            grow();
+        }
+        int id = nextId++;
+        setWeight(id, trailingCount + 1);
+        trailingCount = 0;
+        return id;
+    }
+
+    /**
+     * Records a task that is not numbered being added to the end of the task list.
+     */
+    void appendUnnumbered() {
+        trailingCount++;
+    }
+
+    /**
+     * Numbers a task that was just inserted into the task list, with a number between those of the numbered
+     * tasks around it. There is such a number if a numbered task was removed from between them since they
+     * were numbered, as when a removed task is put back where it was.
+     *
+     * @param position The position(0-indexed) of the task in the list.
+     * @return The number of the task, or null if the numbered tasks around it have consecutive numbers.
+     */
+    Integer insert(int position) {
+        int next = findAtOrAfter(position);
+        int before = next < 0 ? sum(nextId - 1) : sum(next - 1);
+        int previous = before == 0 ? -1 : findFirstReaching(before);
+        int unnumberedBefore = position - before;
+        if (next < 0) {
+            // after the last numbered task, numbered like an added task
+            int unnumberedAfter = trailingCount - unnumberedBefore;
+            trailingCount = unnumberedBefore;
+            int id = append();
+            trailingCount = unnumberedAfter;
+            return id;
+        }
+        if (next - previous < 2) {
+            return null;
+        }
+
+        int id = previous + (next - previous) / 2;
+        setWeight(id, unnumberedBefore + 1);
+        setWeight(next, weights[next] - unnumberedBefore);
+        return id;
+    }
+
+    /**
+     * Records a task that is not numbered being inserted into the task list.
+     *
+     * @param position The position(0-indexed) of the task in the list.
+     */
+    void insertUnnumbered(int position) {
+        int next = findAtOrAfter(position);
+        if (next < 0) {
+            trailingCount++;
+        } else {
+            setWeight(next, weights[next] + 1);
+        }
+    }
+
+    /**
+     * Forgets the number of a task that was just removed from the task list.
+     *
+     * @param id The number of the task.
+     */
+    void remove(int id) {
+        int unnumberedBefore = weights[id] - 1;
+        setWeight(id, 0);
+        // the tasks that are not numbered before it are now before the next numbered task
+        int next = findAtOrAfter(sum(id));
+        if (next < 0) {
+            trailingCount += unnumberedBefore;
+        } else {
+            setWeight(next, weights[next] + unnumberedBefore);
+        }
+    }
+
+    /**
+     * Records a task that is not numbered being removed from the task list.
+     *
+     * @param position The position(0-indexed) the task had in the list.
+     */
+    void removeUnnumbered(int position) {
+        int next = findAtOrAfter(position + 1);
+        if (next < 0) {
+            trailingCount--;
+        } else {
+            setWeight(next, weights[next] - 1);
+        }
+    }
+
+    /**
+     * Returns the position of the task with the given number.
+     *
+     * @param id The number of a task in the list.
+     * @return The position(0-indexed) of the task in the list.
+     */
+    int positionOf(int id) {
+        assert weights[id] > 0 : "task should be numbered";
+        return sum(id) - 1;
+    }
+
+    /**
+     * Finds the numbered task at the position or after it, counting positions before any change.
+     *
+     * @return The number of the task, or -1 if there is none.
+     */
+    private int findAtOrAfter(int position) {
+        int id = findFirstReaching(position + 1);
+        return id < nextId ? id : -1;
+    }
+
+    /**
+     * Finds the smallest number whose sum of weights up to it is at least the target, or nextId if there is none.
+     */
+    private int findFirstReaching(int target) {
+        int index = 0;
+        int remaining = target;
+        for (int step = Integer.highestOneBit(tree.length - 1); step > 0; step >>= 1) {
+            if (index + step < tree.length && tree[index + step] < remaining) {
+                index += step;
+                remaining -= tree[index];
+            }
+        }
+        return Math.min(index, nextId);
+    }
+
+    /**
+     * Returns the sum of the weights of the numbers up to the given number.
+     */
+    private int sum(int id) {
+        int sum = 0;
+        for (int i = id + 1; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    private void setWeight(int id, int weight) {
+        int delta = weight - weights[id];
+        weights[id] = weight;
+        for (int i = id + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * Doubles the numbers that can be given out, building the Fenwick tree again in O(n) time.
+     */
+    private void grow() {
+        weights = Arrays.copyOf(weights, weights.length * 2);
+        tree = new int[weights.length + 1];
+        for (int i = 1; i < tree.length; ++i) {
+            tree[i] += weights[i - 1];
+            int parent = i + (i & -i);
+            if (parent < tree.length) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package duke;
+
+import task.Task;
+import task.TaskChangeListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Represents an inverted index from task descriptions to the tasks containing them,
+ * which answers substring queries without checking every task.
+ *
+ * Every run of three characters in a description, including whitespace, is a trigram. Any description
+ * containing a pattern also contains every trigram of the pattern, so the only tasks to be checked for
+ * a pattern of at least three characters are those in the posting lists of all its trigrams.
+ *
+ * Shorter patterns have no trigram and are matched against every task instead, which is as fast as
+ * narrowing them down would be, since such short patterns match a large share of the tasks anyway.
+ */
+class DescriptionIndex implements TaskChangeListener {
+    private static final int TRIGRAM_LENGTH = 3;
+    private final List<Task> tasks;
+    private final TaskNumbering numbering;
+    private final Map<Long, PostingList> trigramPostings;
+
+    /**
+     * Constructs a DescriptionIndex over the task list. Every task added to or removed from the list
+     * afterwards should be reported to this index.
+     *
+     * @param tasks The task list.
+     */
+    DescriptionIndex(List<Task> tasks) {
+        this.tasks = tasks;
+        this.numbering = new TaskNumbering(tasks);
+        this.trigramPostings = new HashMap<>();
+        for (Task task : tasks) {
+            add(task);
+        }
+    }
+
+    /**
+     * Indexes a task that was just added to the end of the task list.
+     *
+     * @param task The task added.
+     */
+    void add(Task task) {
+        int id = numbering.add(task);
+        addPostings(id, task.getDescription());
+        task.addListener(this);
+    }
+
+    /**
+     * Indexes a task that was just inserted into the task list before its end.
+     *
+     * @param task The task inserted.
+     * @param position The position(0-indexed) of the task in the list.
+     * @return True if the task was indexed, false if the index has to be built again to include it.
+     */
+    boolean insert(Task task, int position) {
+        Integer id = numbering.insert(task, position);
+        if (id == null) {
+            return false;
+        }
+        addPostings(id, task.getDescription());
+        task.addListener(this);
+        return true;
+    }
+
+    /**
+     * Stops listening to the changes of the indexed tasks, once this index is no longer used.
+     */
+    void detach() {
+        for (Task task : numbering.getTasks()) {
+            task.removeListener(this);
+        }
+    }
+
+    /**
+     * Removes a task that was just removed from the task list from the index.
+     *
+     * @param task The task removed.
+     */
+    void remove(Task task) {
+        Integer id = numbering.remove(task);
+        if (id == null) {
+            return;
+        }
+        removePostings(id, task.getDescription());
+        task.removeListener(this);
+    }
+
+    @Override
+    public void onDescriptionChanged(Task task, String oldDescription) {
+        Integer id = numbering.idOf(task);
+        if (id == null) {
+            return;
+        }
+        removePostings(id, oldDescription);
+        addPostings(id, task.getDescription());
+    }
+
+    private void addPostings(int id, String description) {
+        for (long trigram : trigrams(description)) {
+            trigramPostings.computeIfAbsent(trigram, key -> new PostingList()).add(id);
+        }
+    }
+
+    private void removePostings(int id, String description) {
+        for (long trigram : trigrams(description)) {
+            removePosting(trigramPostings, trigram, id);
+        }
+    }
+
+    private static <K> void removePosting(Map<K, PostingList> postings, K key, int id) {
+        PostingList posting = postings.get(key);
+        if (posting != null) {
+            posting.remove(id);
+            if (posting.isEmpty()) {
+                postings.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Finds the tasks whose description contains the pattern.
+     *
+     * @param pattern The pattern to be matched.
+     * @return The positions(0-indexed) of the matching tasks in the task list, in ascending order.
+     */
+    List<Integer> find(String pattern) {
+        List<Integer> positions = new ArrayList<>();
+        if (pattern.length() < TRIGRAM_LENGTH) {
+            for (int i = 0; i < tasks.size(); ++i) {
+                if (tasks.get(i).descriptionContains(pattern)) {
+                    positions.add(i);
+                }
+            }
+            return positions;
+        }
+
+        for (int id : findByTrigrams(pattern)) {
+            int position = numbering.positionOf(id);
+            if (tasks.get(position).descriptionContains(pattern)) {
+                positions.add(position);
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Returns the tasks containing every trigram of the pattern, in ascending order of their numbers.
+     */
+    private int[] findByTrigrams(String pattern) {
+        Set<Long> trigrams = trigrams(pattern);
+        PostingList[] lists = new PostingList[trigrams.size()];
+        int count = 0;
+        for (long trigram : trigrams) {
+            PostingList posting = trigramPostings.get(trigram);
+            if (posting == null) {
+                return new int[0];
+            }
+            lists[count++] = posting;
+        }
+        Arrays.sort(lists, Comparator.comparingInt(PostingList::size));
+        return PostingList.intersect(lists);
+    }
+
+    /**
+     * Returns the distinct trigrams of the text, each packed into a long as three 16-bit characters.
+     */
+    private static Set<Long> trigrams(String text) {
+        Set<Long> trigrams = new HashSet<>();
+        for (int i = 0; i + TRIGRAM_LENGTH <= text.length(); ++i) {
+            trigrams.add((long) text.charAt(i) << 32 | (long) text.charAt(i + 1) << 16 | text.charAt(i + 2));
+        }
+        return trigrams;
+    }
+}
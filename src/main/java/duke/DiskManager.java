@@ -1,28 +1,55 @@
 package duke;
 
-import task.Deadline;
-import task.Event;
-import task.Todo;
+import storage.BackgroundWriter;
+import storage.BinaryCodec;
+import storage.DoneBitmap;
+import storage.Durability;
+import storage.Journal;
+import storage.JournalEntry;
+import storage.JsonCodec;
+import storage.MappedTaskList;
+import storage.SnapshotWriter;
+import storage.StorageCodec;
+import task.Task;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.jsontype.NamedType;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import metrics.Metrics;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
 
 /**
  * Represents the disk manager which handles operation related to disk storage.
  */
 public class DiskManager {
-    private static final ObjectMapper MAPPER = new ObjectMapper();
-    static {
-        MAPPER.registerSubtypes(new NamedType(Todo.class, "Todo"));
-        MAPPER.registerSubtypes(new NamedType(Deadline.class, "Deadline"));
-        MAPPER.registerSubtypes(new NamedType(Event.class, "Event"));
-        MAPPER.registerModule(new JavaTimeModule());
-    }
+    private static final StorageCodec[] CODECS = {new BinaryCodec(), new JsonCodec()};
+    private static final int HEADER_LENGTH = 8;
+    private static final String JOURNAL_SUFFIX = ".journal";
+    private static final String DONE_BITMAP_SUFFIX = ".done";
+    private static final int DEFAULT_COMPACTION_THRESHOLD = 1000;
+    private static final long DEFAULT_WRITE_INTERVAL_MILLIS = 50;
     private String directoryPath;
     private String fileName;
+    private StorageCodec codec;
+    private boolean isMemoryMapped;
+    private Journal journal;
+    private int compactionThreshold;
+    private Long snapshotChecksum;
+    private DoneBitmap doneBitmap;
+    private Long fileChecksum;
+    private int fileTaskCount;
+    private int lowestJournaledIndex;
+    private Durability durability;
+    private BackgroundWriter writer;
+    private TaskManager pendingTaskManager;
+    private List<byte[]> pendingEntries;
+    private boolean isSnapshotPending;
+    private boolean hasShutdownHook;
+    private Metrics metrics;
 
     /**
      * Constructs a DiskManager with a directory path and file name, all storage operation
@@ -34,9 +61,149 @@ public class DiskManager {
     public DiskManager(String directoryPath, String fileName) {
         this.directoryPath = directoryPath;
         this.fileName = fileName;
+        this.codec = new JsonCodec();
+        this.compactionThreshold = DEFAULT_COMPACTION_THRESHOLD;
+        this.durability = Durability.SYNC;
+        this.pendingEntries = new ArrayList<>();
+        this.lowestJournaledIndex = Integer.MAX_VALUE;
+        this.metrics = new Metrics();
+    }
+
+    /**
+     * Sets the metrics that the writes to and reads from the disk are recorded in.
+     *
+     * @param metrics The metrics.
+     */
+    public void setMetrics(Metrics metrics) {
+        assert metrics != null : "metrics of disk manager should not be null";
+        this.metrics = metrics;
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Sets the format the task list is saved in. The format of a file is detected when loading,
+     * so a file saved in another format is loaded and then saved again in this format.
+     *
+     * @param codec The storage format.
+     */
+    public void setCodec(StorageCodec codec) {
+        assert codec != null : "codec should not be null";
+        this.codec = codec;
+    }
+
+    public StorageCodec getCodec() {
+        return codec;
+    }
+
+    /**
+     * Enables or disables loading files in the binary format through a memory mapping, where tasks
+     * are only decoded when they are accessed. Should be set before loading from the disk.
+     * Replacing a mapped file is not allowed on some platforms such as Windows, so this should be
+     * combined with the journal mode, which only replaces the file when compacting.
+     *
+     * @param isMemoryMapped Whether files should be memory-mapped.
+     */
+    public void setMemoryMapped(boolean isMemoryMapped) {
+        this.isMemoryMapped = isMemoryMapped;
+    }
+
+    public boolean isMemoryMapped() {
+        return isMemoryMapped;
+    }
+
+    /**
+     * Enables or disables the journal mode. In journal mode, each mutation is appended to a journal
+     * file next to the storage file instead of rewriting the whole storage file, and the journal is
+     * compacted into the storage file once it grows past the compaction threshold.
+     * Should be set before loading from the disk.
+     *
+     * @param isJournalEnabled Whether the journal mode should be enabled.
+     */
+    public void setJournalEnabled(boolean isJournalEnabled) {
+        this.journal = isJournalEnabled ? new Journal(getFile(fileName + JOURNAL_SUFFIX)) : null;
+        this.snapshotChecksum = null;
+    }
+
+    public boolean isJournalEnabled() {
+        return journal != null;
+    }
+
+    /**
+     * Sets the number of journal entries after which the journal is compacted into the storage file.
+     *
+     * @param compactionThreshold The number of entries.
+     */
+    public void setCompactionThreshold(int compactionThreshold) {
+        assert compactionThreshold > 0 : "compaction threshold should be positive";
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    /**
+     * Sets how soon changes are written to the disk. With BATCHED or ASYNC durability, changes are
+     * written by a background writer once per interval, and flush should be called before exiting.
+     *
+     * @param durability The durability level.
+     * @param intervalMillis The interval between two background writes in milliseconds.
+     * @throws DukeException If the changes pending under the previous durability level could not be written.
+     */
+    public void setDurability(Durability durability, long intervalMillis) throws DukeException {
+        assert durability != null : "durability should not be null";
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+
+        this.durability = durability;
+        if (durability != Durability.SYNC) {
+            writer = new BackgroundWriter(this::writePending, intervalMillis);
+        }
+        if (durability != Durability.SYNC && !hasShutdownHook) {
+            hasShutdownHook = true;
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    flush();
+                } catch (DukeException e) {
+                    System.out.println(e.getMessage());
+                }
+            }));
+        }
+    }
+
+    /**
+     * Sets how soon changes are written to the disk, using the default interval for background writes.
+     *
+     * @param durability The durability level.
+     * @throws DukeException If the changes pending under the previous durability level could not be written.
+     */
+    public void setDurability(Durability durability) throws DukeException {
+        setDurability(durability, DEFAULT_WRITE_INTERVAL_MILLIS);
+    }
+
+    public Durability getDurability() {
+        return durability;
+    }
+
+    /**
+     * Writes every pending change to the disk and waits for the write to finish.
+     *
+     * @throws DukeException If the pending changes could not be written.
+     */
+    public void flush() throws DukeException {
+        if (writer != null) {
+            long start = System.nanoTime();
+            writer.flush();
+            metrics.recordSave(System.nanoTime() - start);
+        }
     }
 
     private File getFile() {
+        return getFile(fileName);
+    }
+
+    private File getFile(String fileName) {
         String filePath = directoryPath + "/" + fileName;
         try {
             String currentWorkingDir = System.getProperty("user.dir");
@@ -65,36 +232,305 @@ public class DiskManager {
         }
     }
 
-    private String taskManagerToJson(TaskManager taskManager) throws DukeException {
-        assert taskManager != null : "taskManager should not be null when converting to JSON format";
+    private byte[] encode(TaskManager taskManager) throws DukeException {
+        assert taskManager != null : "taskManager should not be null when encoding";
         try {
-            return MAPPER.writeValueAsString(taskManager);
-        } catch (JsonProcessingException e) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            Lock readLock = taskManager.getReadLock();
+            readLock.lock();
+            try {
+                codec.encode(taskManager.getTasks(), out);
+            } finally {
+                readLock.unlock();
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
             throw new DukeException("Error when saving task list to local disk.");
         }
     }
 
     /**
      * Saves the task manager that encapsulates the task list to the disk.
+     * The storage file is replaced atomically, so a crash while saving never loses the previous save.
+     * In journal mode, this compacts the journal into the storage file.
      *
      * @param taskManager The task manager to be saved to disk.
-     * @throws DukeException If taskManager could not be serialized into json or FileWriter failed to write to the disk.
+     * @throws DukeException If taskManager could not be serialized or could not be written to the disk.
      */
-    public void saveToDisk(TaskManager taskManager) throws DukeException {
+    public synchronized void saveToDisk(TaskManager taskManager) throws DukeException {
+        long start = System.nanoTime();
+        try {
+            writeSnapshot(taskManager);
+        } finally {
+            metrics.recordSave(System.nanoTime() - start);
+        }
+    }
+
+    private synchronized void writeSnapshot(TaskManager taskManager) throws DukeException {
         assert taskManager != null : "taskManager should not be null when saving to disk";
         try {
-            String json = taskManagerToJson(taskManager);
-            File file = getFile();
-            FileWriter fileWriter = new FileWriter(file);
-            fileWriter.write(json);
-            fileWriter.close();
+            int count;
+            byte[] data;
+            Lock readLock = taskManager.getReadLock();
+            readLock.lock();
+            try {
+                count = taskManager.getTasks().size();
+                data = encode(taskManager);
+            } finally {
+                readLock.unlock();
+            }
+            long start = System.nanoTime();
+            new SnapshotWriter(getFile()).write(data);
+            metrics.recordWrite(data.length, System.nanoTime() - start);
+            // the storage file holds the done status of every task now
+            getDoneBitmap().delete();
+            fileChecksum = checksumOf(data);
+            fileTaskCount = count;
+            lowestJournaledIndex = Integer.MAX_VALUE;
+
+            // every pending change is part of the snapshot now
+            pendingEntries.clear();
+            isSnapshotPending = false;
+            if (journal != null) {
+                snapshotChecksum = fileChecksum;
+                journal.reset(snapshotChecksum);
+            }
         } catch (IOException e) {
             throw new DukeException("Error when writing to local disk.");
         }
     }
 
+    /**
+     * Saves the task that was just added to the end of the task list.
+     *
+     * @param taskManager The task manager the task was added to.
+     * @param task The task added.
+     * @throws DukeException If the change could not be written to the disk.
+     */
+    public void saveAddedTask(TaskManager taskManager, Task task) throws DukeException {
+        saveChange(taskManager, JournalEntry.add(task));
+    }
+
+    /**
+     * Saves the change of the done status of the i-th task.
+     *
+     * @param taskManager The task manager the task was marked in.
+     * @param i The index of the task marked(1-indexed).
+     * @param done Whether the task was marked as done or not.
+     * @throws DukeException If the change could not be written to the disk.
+     */
+    public void saveMarkedTask(TaskManager taskManager, int i, boolean done) throws DukeException {
+        saveMarks(taskManager, new int[] {i}, done, JournalEntry.mark(i, done));
+    }
+
+    /**
+     * Saves the removal of the i-th task.
+     *
+     * @param taskManager The task manager the task was removed from.
+     * @param i The index of the task removed(1-indexed).
+     * @throws DukeException If the change could not be written to the disk.
+     */
+    public void saveDeletedTask(TaskManager taskManager, int i) throws DukeException {
+        saveChange(taskManager, JournalEntry.delete(i));
+    }
+
+    /**
+     * Saves the marking of many tasks as a single change.
+     *
+     * @param taskManager The task manager the tasks belong to.
+     * @param indices The indices of the tasks marked(1-indexed), in ascending order.
+     * @param done Whether the tasks are marked as done.
+     * @throws DukeException If the change could not be written to the disk.
+     */
+    public void saveMarkedTasks(TaskManager taskManager, int[] indices, boolean done) throws DukeException {
+        saveMarks(taskManager, indices, done, JournalEntry.markAll(indices, done));
+    }
+
+    /**
+     * Saves the removal of many tasks as a single change.
+     *
+     * @param taskManager The task manager the tasks were removed from.
+     * @param indices The indices of the tasks removed(1-indexed) before any was removed, in ascending order.
+     * @throws DukeException If the change could not be written to the disk.
+     */
+    public void saveDeletedTasks(TaskManager taskManager, int[] indices) throws DukeException {
+        saveChange(taskManager, JournalEntry.deleteAll(indices));
+    }
+
+    /**
+     * Saves a change made by undoing or redoing another.
+     *
+     * @param taskManager The task manager the change was made to.
+     * @param change The change.
+     * @throws DukeException If the change could not be written to the disk.
+     */
+    public void saveChange(TaskManager taskManager, Change change) throws DukeException {
+        if (change.getKind() == Change.Kind.MARK) {
+            saveMarks(taskManager, change.getIndices(), change.isDone(), JournalEntry.of(change));
+            return;
+        }
+        saveChange(taskManager, JournalEntry.of(change));
+    }
+
+    /**
+     * Saves the marking of tasks. This patches the done bitmap next to the storage file instead of rewriting
+     * the storage file or appending to the journal, as long as the tasks are still where they are in the storage
+     * file and no later change to them is recorded in the journal, which is replayed after the bitmap is applied.
+     */
+    private void saveMarks(TaskManager taskManager, int[] indices, boolean done, JournalEntry entry)
+            throws DukeException {
+        long start = System.nanoTime();
+        try {
+            if (!patchDoneBitmap(taskManager, indices, done)) {
+                queueChange(taskManager, entry);
+            }
+        } finally {
+            metrics.recordSave(System.nanoTime() - start);
+        }
+    }
+
+    private synchronized boolean patchDoneBitmap(TaskManager taskManager, int[] indices, boolean done)
+            throws DukeException {
+        // a task removed or inserted since the storage file was written moves the tasks after it,
+        // while tasks added to the end of the list are only in the journal
+        if (fileChecksum == null || isSnapshotPending || lowestJournaledIndex <= fileTaskCount
+                || indices.length > 0 && indices[indices.length - 1] > fileTaskCount) {
+            return false;
+        }
+        assert journal != null || taskManager.getTaskCount() == fileTaskCount
+                : "tasks should be where they are in the storage file";
+
+        try {
+            long start = System.nanoTime();
+            long bytes = getDoneBitmap().patch(fileChecksum, fileTaskCount, indices, done,
+                    durability != Durability.ASYNC);
+            metrics.recordWrite(bytes, System.nanoTime() - start);
+            return true;
+        } catch (IOException e) {
+            throw new DukeException("Error when writing to local disk.");
+        }
+    }
+
+    private DoneBitmap getDoneBitmap() {
+        if (doneBitmap == null) {
+            // the bitmap is only created once a task is marked
+            doneBitmap = new DoneBitmap(new File(getFile().getParentFile(), fileName + DONE_BITMAP_SUFFIX));
+        }
+        return doneBitmap;
+    }
+
+    /**
+     * Applies the done bitmap next to the storage file to the tasks just loaded from it.
+     */
+    private void applyDoneBitmap(TaskManager taskManager, long checksum) throws IOException {
+        List<Task> tasks = taskManager.getTasks();
+        getDoneBitmap().apply(tasks, checksum);
+        fileChecksum = checksum;
+        fileTaskCount = tasks.size();
+    }
+
+    private void saveChange(TaskManager taskManager, JournalEntry entry) throws DukeException {
+        long start = System.nanoTime();
+        try {
+            queueChange(taskManager, entry);
+        } finally {
+            metrics.recordSave(System.nanoTime() - start);
+        }
+    }
+
+    private void queueChange(TaskManager taskManager, JournalEntry entry) throws DukeException {
+        long ticket;
+        synchronized (this) {
+            lowestJournaledIndex = Math.min(lowestJournaledIndex, entry.lowestIndex());
+            if (journal != null && snapshotChecksum != null
+                    && journal.size() + pendingEntries.size() + 1 >= compactionThreshold) {
+                // the snapshot is written right away so that no later change can slip into it unrecorded
+                writeSnapshot(taskManager);
+                return;
+            }
+            if (durability == Durability.SYNC) {
+                writeChange(taskManager, entry);
+                return;
+            }
+
+            pendingTaskManager = taskManager;
+            if (journal != null && snapshotChecksum != null) {
+                pendingEntries.add(encode(entry));
+            } else {
+                isSnapshotPending = true;
+            }
+            ticket = writer.requestWrite();
+        }
+
+        if (durability == Durability.BATCHED) {
+            writer.awaitWrite(ticket);
+        }
+    }
+
+    private void writeChange(TaskManager taskManager, JournalEntry entry) throws DukeException {
+        // without a journal based on the current snapshot, the whole task list has to be written
+        if (journal == null || snapshotChecksum == null) {
+            writeSnapshot(taskManager);
+            return;
+        }
+
+        try {
+            byte[] line = journal.encode(entry);
+            long start = System.nanoTime();
+            journal.appendAll(List.of(line));
+            metrics.recordWrite(line.length, System.nanoTime() - start);
+        } catch (IOException e) {
+            throw new DukeException("Error when writing to local disk.");
+        }
+    }
+
+    private byte[] encode(JournalEntry entry) throws DukeException {
+        try {
+            return journal.encode(entry);
+        } catch (IOException e) {
+            throw new DukeException("Error when saving task list to local disk.");
+        }
+    }
+
+    /**
+     * Writes the changes pending since the last background write, called by the background writer.
+     */
+    private synchronized void writePending() throws DukeException {
+        if (isSnapshotPending) {
+            writeSnapshot(pendingTaskManager);
+            return;
+        }
+
+        try {
+            long bytes = 0;
+            for (byte[] line : pendingEntries) {
+                bytes += line.length;
+            }
+            long start = System.nanoTime();
+            journal.appendAll(pendingEntries);
+            metrics.recordWrite(bytes, System.nanoTime() - start);
+            pendingEntries.clear();
+        } catch (IOException e) {
+            throw new DukeException("Error when writing to local disk.");
+        }
+    }
+
+    /**
+     * Returns the checksum of the content of the storage file, which is stored in the file by the binary codec.
+     */
+    private static long checksumOf(byte[] data) {
+        Long stored = BinaryCodec.readChecksum(ByteBuffer.wrap(data));
+        if (stored != null) {
+            return stored;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        return crc.getValue();
+    }
+
     /**
      * Loads data from the disk and returns the task manager encapsulating the data.
+     * A save that was interrupted by a crash is recovered from or discarded first.
      *
      * @return The task manager.
      * @throws DukeException If could not read file from disk or could not deserialize the data read from disk.
@@ -102,25 +538,14 @@ public class DiskManager {
     public TaskManager loadFromDisk() throws DukeException {
         try {
             File file = getFile();
+            new SnapshotWriter(file).recover();
 
-            // read the file
-            BufferedReader reader = new BufferedReader(new FileReader(file));
-            StringBuilder jsonData = new StringBuilder();
-            String line;
-            while (true) {
-                line = reader.readLine();
-                if (line == null) {
-                    break;
-                }
-                jsonData.append(line);
-            }
-            String json = jsonData.toString();
-            if (json.isEmpty()) {
-                return new TaskManager();
+            TaskManager taskManager = isMemoryMapped ? loadMapped(file) : null;
+            if (taskManager == null) {
+                taskManager = loadEagerly(file);
             }
-
-            TaskManager taskManager = MAPPER.readValue(json, TaskManager.class);
-            assert taskManager != null : "taskManger loaded from disks should not be null";
+            // the changes replayed from the journal were made in an earlier session, and cannot be undone
+            taskManager.clearHistory();
             return taskManager;
         } catch (JsonProcessingException e) {
             throw new DukeException("Error when deserializing file");
@@ -128,4 +553,83 @@ public class DiskManager {
             throw new DukeException("Error when reading file");
         }
     }
+
+    private TaskManager loadEagerly(File file) throws IOException, DukeException {
+        CRC32 crc = new CRC32();
+        StorageCodec fileCodec;
+        TaskManager taskManager = new TaskManager();
+        try (InputStream in = new BufferedInputStream(
+                new CheckedInputStream(new FileInputStream(file), crc))) {
+            fileCodec = detectCodec(in);
+            taskManager.setTasks(new RankedList<>(fileCodec.decode(in)));
+
+            // consume the rest of the file so that the checksum covers all of it
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        metrics.recordRead(file.length());
+
+        // the checksum stored by the binary codec is used, so that loading the file memory-mapped agrees with it
+        Long stored = BinaryCodec.readChecksum(file);
+        long checksum = stored != null ? stored : crc.getValue();
+        applyDoneBitmap(taskManager, checksum);
+        if (journal != null) {
+            replayJournal(taskManager, checksum);
+        }
+        if (fileCodec.getClass() != codec.getClass() && file.length() > 0) {
+            // migrate the file to the configured format
+            writeSnapshot(taskManager);
+        }
+        return taskManager;
+    }
+
+    /**
+     * Loads the task manager backed by the memory-mapped file, which decodes tasks only when accessed.
+     *
+     * @return The task manager, or null if the file is not in a format that can be mapped.
+     */
+    private TaskManager loadMapped(File file) throws IOException, DukeException {
+        MappedTaskList tasks = MappedTaskList.open(file);
+        if (tasks == null) {
+            return null;
+        }
+
+        TaskManager taskManager = new TaskManager();
+        taskManager.setTasks(tasks);
+        long checksum = tasks.checksum();
+        applyDoneBitmap(taskManager, checksum);
+        if (journal != null) {
+            replayJournal(taskManager, checksum);
+        }
+        return taskManager;
+    }
+
+    /**
+     * Detects the format of the input from its first bytes, without consuming them.
+     */
+    private StorageCodec detectCodec(InputStream in) throws IOException {
+        assert in.markSupported() : "input should support mark to detect its format";
+        byte[] header = new byte[HEADER_LENGTH];
+        in.mark(HEADER_LENGTH);
+        int length = in.readNBytes(header, 0, HEADER_LENGTH);
+        in.reset();
+
+        for (StorageCodec candidate : CODECS) {
+            if (candidate.canDecode(header, length)) {
+                return candidate;
+            }
+        }
+        return codec;
+    }
+
+    private void replayJournal(TaskManager taskManager, long checksum) throws DukeException, IOException {
+        snapshotChecksum = checksum;
+        boolean isReplayed = journal.replay(taskManager, checksum);
+        lowestJournaledIndex = isReplayed ? journal.getLowestChangedIndex() : Integer.MAX_VALUE;
+        if (!isReplayed) {
+            // the journal is missing or was already compacted into the snapshot
+            journal.reset(checksum);
+        } else if (journal.hasTornEntry()) {
+            writeSnapshot(taskManager);
+        }
+    }
 }
@@ -1,16 +1,35 @@
 package duke;
 
 import command.Command;
-import command.ExitCommand;
-import javafx.stage.Stage;
+import metrics.Metrics;
+import storage.BinaryCodec;
+import storage.Durability;
+import storage.JsonCodec;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Represents the command line application Duke.
+ *
+ * Commands can be executed asynchronously on a single worker thread, so that the user interface stays
+ * responsive while a command is running, and commands still take effect in the order they were submitted.
+ *
+ * Duke can also be driven by several clients at once. Commands that only read the task list run in parallel,
+ * while commands that modify it run one at a time, so that their changes reach the disk in the same order
+ * as they were made to the task list.
  */
 public class Duke {
+    private static final String DURABILITY_PROPERTY = "duke.durability";
+    private static final String FORMAT_PROPERTY = "duke.format";
     private DiskManager diskManager;
     private TaskManager taskManager;
-    private Stage stage;
+    private ExecutorService executor;
+    private final ReentrantLock modifyLock = new ReentrantLock();
+    private final Metrics metrics = new Metrics();
+    private volatile boolean isExited;
 
 
     /**
@@ -20,38 +39,163 @@ public class Duke {
      * @param directoryPath The directory path.
      * @param fileName The file name.
      */
-    public Duke(String directoryPath, String fileName, Stage stage) {
-        this.stage = stage;
+    public Duke(String directoryPath, String fileName) {
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "duke-commands");
+            thread.setDaemon(true);
+            return thread;
+        });
         this.diskManager = new DiskManager(directoryPath, fileName);
+        this.diskManager.setMetrics(metrics);
+        setUpFormat();
+        this.diskManager.setJournalEnabled(true);
         try {
+            this.diskManager.setDurability(getDurability());
             this.taskManager = this.diskManager.loadFromDisk();
         } catch (DukeException e) {
             System.out.println(e.getMessage());
             this.taskManager = new TaskManager();
         }
+        metrics.setTaskCount(() -> taskManager.getTaskCount());
+        metrics.registerMBeans();
 
-        assert this.stage != null : "stage of Duke instance should not be null";
         assert this.taskManager != null : "taskManager of Duke instance should not be null";
         assert this.diskManager != null : "diskManager of Duke instance should not be null";
     }
 
     /**
-     * Executes the respective input received from Ui.
+     * Returns the durability level given by the duke.durability system property, which is
+     * sync unless specified otherwise.
+     */
+    private static Durability getDurability() {
+        String value = System.getProperty(DURABILITY_PROPERTY, Durability.SYNC.name());
+        try {
+            return Durability.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.out.println("Unknown durability " + value + ", using sync instead.");
+            return Durability.SYNC;
+        }
+    }
+
+    /**
+     * Sets up the storage format given by the duke.format system property, which is json unless
+     * specified otherwise. The mapped format is the binary format loaded through a memory mapping.
+     */
+    private void setUpFormat() {
+        String value = System.getProperty(FORMAT_PROPERTY, "json");
+        switch (value.trim().toLowerCase()) {
+            case "json":
+                diskManager.setCodec(new JsonCodec());
+                break;
+            case "binary":
+                diskManager.setCodec(new BinaryCodec());
+                break;
+            case "mapped":
+                diskManager.setCodec(new BinaryCodec());
+                diskManager.setMemoryMapped(true);
+                break;
+            default:
+                System.out.println("Unknown format " + value + ", using json instead.");
+                diskManager.setCodec(new JsonCodec());
+                break;
+        }
+    }
+
+    /**
+     * Executes the respective input received from Ui. This may be called from several threads at once.
      *
      * @param input The input received from Ui.
      * @return The string output to be printed to Ui.
      */
     public String execute(String input) {
         try {
-            Command c = Parser.parseCommand(input);
+            Command c = parse(input);
             if (c.isExit()) {
-                stage.close();
+                isExited = true;
             }
-            String res = c.execute(taskManager, diskManager);
-            return res;
+            return execute(c);
         } catch (DukeException e) {
             return e.getMessage();
         }
+    }
+
+    /**
+     * Parses the input into a command, recording the time taken in the metrics of the command
+     * that the calling thread executes next.
+     *
+     * @param input The user input.
+     * @return The command represented by input.
+     * @throws DukeException If the command format is invalid or unrecognized.
+     */
+    public Command parse(String input) throws DukeException {
+        metrics.beginCommand();
+        long start = System.nanoTime();
+        try {
+            Command c = Parser.parseCommand(input);
+            metrics.recordParse(System.nanoTime() - start);
+            return c;
+        } catch (DukeException e) {
+            metrics.recordInvalidCommand(System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    /**
+     * Executes a parsed command. Unlike execute(String), an exit command does not mark Duke as exited,
+     * for callers such as TaskServer where it only ends the session of one client. This may be called
+     * from several threads at once.
+     *
+     * @param c The command to be executed.
+     * @return The string output of the command.
+     * @throws DukeException If the command failed.
+     */
+    public String execute(Command c) throws DukeException {
+        long start = System.nanoTime();
+        boolean isError = true;
+        try {
+            String res = executeLocked(c);
+            isError = false;
+            return res;
+        } finally {
+            metrics.endCommand(c.getName(), System.nanoTime() - start, isError);
+        }
+    }
+
+    private String executeLocked(Command c) throws DukeException {
+        if (c.isReadOnly()) {
+            return c.execute(taskManager, diskManager);
+        }
+
+        modifyLock.lock();
+        try {
+            String res = c.execute(taskManager, diskManager);
+            return res;
+        } finally {
+            modifyLock.unlock();
+        }
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
 
+    /**
+     * Executes the respective input received from Ui on the worker thread of Duke, after every input
+     * submitted before it.
+     *
+     * @param input The input received from Ui.
+     * @return The future completed with the string output to be printed to Ui.
+     */
+    public CompletableFuture<String> executeAsync(String input) {
+        return CompletableFuture.supplyAsync(() -> execute(input), executor);
+    }
+
+    /**
+     * Returns whether an exit command has been executed, after which Ui should be closed.
+     *
+     * @return True if an exit command has been executed.
+     */
+    public boolean isExited() {
+        return isExited;
     }
 }
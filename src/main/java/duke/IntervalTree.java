@@ -0,0 +1,189 @@
+package duke;
+
+import java.util.Random;
+import java.util.function.IntConsumer;
+
+/**
+ * Represents a set of closed intervals of days, each belonging to a task number, that finds the intervals
+ * overlapping a range without checking every interval.
+ *
+ * The intervals are kept in a binary search tree ordered by their start, balanced by random priorities,
+ * in which every node also holds the latest end within its subtree. A subtree whose latest end is before the range,
+ * or whose earliest start is after it, cannot overlap the range and is skipped, so a query takes O(log n) time
+ * for every interval found, and O(log n) time if none is found.
+ */
+class IntervalTree {
+    private final Random random;
+    private Node root;
+    private int size;
+
+    IntervalTree() {
+        this.random = new Random();
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Adds an interval.
+     *
+     * @param start The first day of the interval.
+     * @param end The last day of the interval, not before the start.
+     * @param id The number of the task the interval belongs to, which should not be in the tree already.
+     */
+    void add(long start, long end, int id) {
+        assert start <= end : "interval should not end before it starts";
+        root = insert(root, new Node(start, end, id, random.nextInt()));
+        size++;
+    }
+
+    /**
+     * Removes the interval of a task.
+     *
+     * @param start The first day of the interval, as it was added.
+     * @param id The number of the task the interval belongs to.
+     */
+    void remove(long start, int id) {
+        int oldSize = size;
+        root = delete(root, start, id);
+        assert size == oldSize - 1 : "removed interval should be in the tree";
+    }
+
+    /**
+     * Passes the number of every task whose interval overlaps the range to the consumer, in no particular order.
+     *
+     * @param from The first day of the range.
+     * @param to The last day of the range.
+     * @param consumer The consumer of the task numbers.
+     */
+    void findOverlapping(long from, long to, IntConsumer consumer) {
+        findOverlapping(root, from, to, consumer);
+    }
+
+    private static void findOverlapping(Node node, long from, long to, IntConsumer consumer) {
+        if (node == null || node.maxEnd < from) {
+            return;
+        }
+        findOverlapping(node.left, from, to, consumer);
+        if (node.start > to) {
+            // every interval after this one starts after the range too
+            return;
+        }
+        if (node.end >= from) {
+            consumer.accept(node.id);
+        }
+        findOverlapping(node.right, from, to, consumer);
+    }
+
+    private static Node insert(Node node, Node inserted) {
+        if (node == null) {
+            return inserted;
+        }
+        if (compare(inserted.start, inserted.id, node) < 0) {
+            node.left = insert(node.left, inserted);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, inserted);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        node.update();
+        return node;
+    }
+
+    private Node delete(Node node, long start, int id) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = compare(start, id, node);
+        if (comparison < 0) {
+            node.left = delete(node.left, start, id);
+        } else if (comparison > 0) {
+            node.right = delete(node.right, start, id);
+        } else {
+            size--;
+            return merge(node.left, node.right);
+        }
+        node.update();
+        return node;
+    }
+
+    /**
+     * Merges two subtrees, with every interval of the left subtree ordered before every interval of the right.
+     */
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        node.update();
+        left.right = node;
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        node.update();
+        right.left = node;
+        return right;
+    }
+
+    /**
+     * Orders intervals by their start, and intervals with the same start by their task number.
+     */
+    private static int compare(long start, int id, Node node) {
+        int comparison = Long.compare(start, node.start);
+        return comparison != 0 ? comparison : Integer.compare(id, node.id);
+    }
+
+    /**
+     * Represents a node of the tree, holding the latest end of the intervals in the subtree rooted at it.
+     */
+    private static class Node {
+        private final long start;
+        private final long end;
+        private final int id;
+        private final int priority;
+        private long maxEnd;
+        private Node left;
+        private Node right;
+
+        Node(long start, long end, int id, int priority) {
+            this.start = start;
+            this.end = end;
+            this.id = id;
+            this.priority = priority;
+            this.maxEnd = end;
+        }
+
+        void update() {
+            maxEnd = end;
+            if (left != null) {
+                maxEnd = Math.max(maxEnd, left.maxEnd);
+            }
+            if (right != null) {
+                maxEnd = Math.max(maxEnd, right.maxEnd);
+            }
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package duke;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Represents a client that puts load on a TaskServer from many connections at once, and reports the throughput
+ * and the latency of the commands.
+ *
+ * Every client opens its own connection and sends its commands one at a time, waiting for the response to each
+ * before sending the next. The commands are taken in turn from the given list, in which every "{n}" is replaced
+ * by a number unique to the command, so that added tasks can be told apart.
+ *
+ * Usage: {@code LoadGenerator [--host <host>] [--port <port>] [--clients <count>] [--requests <count per client>]
+ * [--command <command>]...}.
+ */
+public class LoadGenerator {
+    private static final String FLAG_HOST = "--host";
+    private static final String FLAG_PORT = "--port";
+    private static final String FLAG_CLIENTS = "--clients";
+    private static final String FLAG_REQUESTS = "--requests";
+    private static final String FLAG_COMMAND = "--command";
+    private static final String PLACEHOLDER_NUMBER = "{n}";
+    private static final String DEFAULT_COMMAND = "list";
+
+    private final String host;
+    private final int port;
+    private final List<String> commands;
+
+    /**
+     * Constructs a LoadGenerator that sends the commands to the server.
+     *
+     * @param host The host of the server.
+     * @param port The port of the server.
+     * @param commands The commands to be sent in turn.
+     */
+    public LoadGenerator(String host, int port, List<String> commands) {
+        this.host = host;
+        this.port = port;
+        this.commands = commands;
+
+        assert !this.commands.isEmpty() : "load generator should have a command to send";
+    }
+
+    /**
+     * Reads one response sent by a TaskServer.
+     *
+     * @param reader The reader of the connection.
+     * @return The response, with a line terminator after every line, or null if the connection ended.
+     * @throws IOException If the response could not be read.
+     */
+    public static String readResponse(BufferedReader reader) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.equals(TaskServer.END_OF_RESPONSE)) {
+                return sb.toString();
+            }
+            sb.append(line.startsWith(TaskServer.END_OF_RESPONSE) ? line.substring(1) : line).append('\n');
+        }
+        return null;
+    }
+
+    /**
+     * Runs the clients until each has received the responses to all its commands.
+     *
+     * @param clientCount The number of clients connected at once.
+     * @param requestCount The number of commands sent by each client.
+     * @return The latency of every command in nanoseconds, in ascending order.
+     * @throws IOException If a client failed.
+     * @throws InterruptedException If interrupted while waiting for the clients.
+     */
+    public long[] run(int clientCount, int requestCount) throws IOException, InterruptedException {
+        long[][] latencies = new long[clientCount][requestCount];
+        AtomicLong nextNumber = new AtomicLong();
+        CountDownLatch connected = new CountDownLatch(clientCount);
+        CountDownLatch start = new CountDownLatch(1);
+        List<IOException> failures = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < clientCount; ++i) {
+            long[] clientLatencies = latencies[i];
+            Thread thread = new Thread(() -> {
+                boolean isConnected = false;
+                try (Socket socket = new Socket(host, port)) {
+                    socket.setTcpNoDelay(true);
+                    BufferedReader reader = new BufferedReader(
+                            new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                    Writer writer = new BufferedWriter(
+                            new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+                    isConnected = true;
+                    connected.countDown();
+                    start.await();
+                    for (int j = 0; j < requestCount; ++j) {
+                        long number = nextNumber.getAndIncrement();
+                        String command = commands.get((int) (number % commands.size()))
+                                .replace(PLACEHOLDER_NUMBER, Long.toString(number));
+                        long sent = System.nanoTime();
+                        writer.write(command);
+                        writer.write('\n');
+                        writer.flush();
+                        if (readResponse(reader) == null) {
+                            throw new IOException("Server closed the connection");
+                        }
+                        clientLatencies[j] = System.nanoTime() - sent;
+                    }
+                } catch (IOException e) {
+                    synchronized (failures) {
+                        failures.add(e);
+                    }
+                    if (!isConnected) {
+                        connected.countDown();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, "load-client-" + i);
+            thread.start();
+            threads.add(thread);
+        }
+
+        // connect every client before sending anything, so that connecting is not measured
+        connected.await();
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        if (!failures.isEmpty()) {
+            throw failures.get(0);
+        }
+        long[] result = Arrays.stream(latencies).flatMapToLong(Arrays::stream).toArray();
+        Arrays.sort(result);
+        return result;
+    }
+
+    private static String percentile(long[] sortedLatencies, double fraction) {
+        int i = (int) Math.ceil(fraction * sortedLatencies.length) - 1;
+        long nanos = sortedLatencies[Math.max(0, Math.min(i, sortedLatencies.length - 1))];
+        return String.format("%.3f ms", nanos / 1e6);
+    }
+
+    public static void main(String[] args) throws Exception {
+        String host = "localhost";
+        int port = TaskServer.DEFAULT_PORT;
+        int clientCount = 100;
+        int requestCount = 100;
+        List<String> commands = new ArrayList<>();
+        try {
+            for (int i = 0; i < args.length; ++i) {
+                if (FLAG_HOST.equals(args[i]) && i + 1 < args.length) {
+                    host = args[++i];
+                } else if (FLAG_PORT.equals(args[i]) && i + 1 < args.length) {
+                    port = Integer.parseInt(args[++i]);
+                } else if (FLAG_CLIENTS.equals(args[i]) && i + 1 < args.length) {
+                    clientCount = Integer.parseInt(args[++i]);
+                } else if (FLAG_REQUESTS.equals(args[i]) && i + 1 < args.length) {
+                    requestCount = Integer.parseInt(args[++i]);
+                } else if (FLAG_COMMAND.equals(args[i]) && i + 1 < args.length) {
+                    commands.add(args[++i]);
+                } else {
+                    throw new IllegalArgumentException(args[i]);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println("Usage: LoadGenerator [--host <host>] [--port <port>] [--clients <count>] "
+                    + "[--requests <count per client>] [--command <command>]...");
+            System.exit(1);
+        }
+        if (commands.isEmpty()) {
+            commands.add(DEFAULT_COMMAND);
+        }
+
+        long begin = System.nanoTime();
+        long[] latencies = new LoadGenerator(host, port, commands).run(clientCount, requestCount);
+        long millis = Math.max(1, (System.nanoTime() - begin) / 1_000_000);
+        System.out.println("Executed " + latencies.length + " commands from " + clientCount + " clients in "
+                + millis + " ms (" + latencies.length * 1000 / millis + " commands per second)");
+        if (latencies.length > 0) {
+            System.out.println("Latency: p50 " + percentile(latencies, 0.5) + ", p90 " + percentile(latencies, 0.9)
+                    + ", p99 " + percentile(latencies, 0.99) + ", max " + percentile(latencies, 1));
+        }
+    }
+}
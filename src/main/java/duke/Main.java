@@ -17,13 +17,15 @@ public class Main extends Application {
     public void start(Stage stage) {
         assert stage != null : "stage should not be null when starting an application on javaFx";
         stage.setTitle("Orion");
-        Duke duke = new Duke("data", "tasks.json", stage);
+        Duke duke = new Duke("data", "tasks.json");
         try {
             FXMLLoader fxmlLoader = new FXMLLoader(Main.class.getResource("/view/MainWindow.fxml"));
             AnchorPane ap = fxmlLoader.load();
             Scene scene = new Scene(ap);
             stage.setScene(scene);
-            fxmlLoader.<MainWindow>getController().setDuke(duke);
+            MainWindow mainWindow = fxmlLoader.getController();
+            mainWindow.setDuke(duke);
+            mainWindow.setOnExit(stage::close);
             stage.show();
         } catch (IOException e) {
             e.printStackTrace();
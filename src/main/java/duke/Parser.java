@@ -1,38 +1,85 @@
 package duke;
 
+import command.BulkDeleteCommand;
+import command.BulkMarkCommand;
 import command.Command;
 import command.DeadlineCommand;
 import command.DeleteCommand;
+import command.DueCommand;
 import command.EmptyCommand;
 import command.EventCommand;
 import command.ExitCommand;
 import command.FindCommand;
 import command.ListCommand;
 import command.MarkCommand;
+import command.RedoCommand;
+import command.StatsCommand;
 import command.TodoCommand;
+import command.UndoCommand;
 import command.UnmarkCommand;
-import task.Deadline;
-import task.Event;
-import task.Todo;
 
+import java.time.DateTimeException;
 import java.time.LocalDate;
-import java.time.format.DateTimeParseException;
-import java.util.Scanner;
 
 /**
  * Represents a parser class that will be in charge of parsing user commands
  * for Duke.
+ *
+ * Every command is described by an entry in a table from its keyword to the parser of its arguments, so a new
+ * command is plugged in by registering it in the table. The keyword is looked up in a trie directly from the input,
+ * which also finds a command by any prefix of its keyword that is not shared with another command, e.g. del for
+ * delete, or by an alias. Arguments are read by index directly from the input, instead of a Scanner, regular
+ * expressions or splitting, without creating objects for anything but what the command keeps, since parsing is on
+ * the path of every command of a scripted import. Integers, selections of tasks and dates in the form yyyy-mm-dd
+ * are read from the characters, and only dates in another form that LocalDate accepts are parsed from a string.
  */
 public class Parser {
-    private static final String FLAG_BYE = "bye";
-    private static final String FLAG_LIST = "list";
-    private static final String FLAG_MARK = "mark";
-    private static final String FLAG_UNMARK = "unmark";
-    private static final String FLAG_TODO = "todo";
-    private static final String FLAG_DEADLINE = "deadline";
-    private static final String FLAG_EVENT = "event";
-    private static final String FLAG_DELETE = "delete";
-    private static final String FLAG_FIND = "find";
+    private static final String FLAG_PAGE_SIZE = "--page-size";
+    private static final String KEYWORD_DONE = "done";
+    private static final String SEPARATOR_BY = "/by";
+    private static final String SEPARATOR_FROM = "/from";
+    private static final String SEPARATOR_TO = "/to";
+    private static final long NOT_AN_INT = Long.MIN_VALUE;
+    private static final int DATE_LENGTH = 10;
+    private static final String[] DEADLINE_SEPARATORS = {SEPARATOR_BY};
+    private static final String[] EVENT_SEPARATORS = {SEPARATOR_FROM, SEPARATOR_TO};
+    private static final CommandTable<ArgumentParser> COMMANDS = new CommandTable<>();
+    static {
+        // exiting is never abbreviated, so that a typo cannot quit by accident
+        COMMANDS.register("bye", Parser::parseByeCommand, false);
+        COMMANDS.register("list", Parser::parseListCommand, true);
+        COMMANDS.register("mark", Parser::parseMarkCommand, true);
+        COMMANDS.register("unmark", Parser::parseUnmarkCommand, true);
+        COMMANDS.register("todo", Parser::parseTodoCommand, true);
+        COMMANDS.register("deadline", Parser::parseDeadlineCommand, true);
+        COMMANDS.register("event", Parser::parseEventCommand, true);
+        COMMANDS.register("delete", Parser::parseDeleteCommand, true);
+        COMMANDS.register("find", Parser::parseFindCommand, true);
+        COMMANDS.register("due", Parser::parseDueCommand, true);
+        COMMANDS.register("on", Parser::parseOnCommand, true);
+        COMMANDS.register("stats", Parser::parseStatsCommand, true);
+        COMMANDS.register("undo", Parser::parseUndoCommand, true);
+        COMMANDS.register("redo", Parser::parseRedoCommand, true);
+        COMMANDS.alias("dl", Parser::parseDeadlineCommand);
+        COMMANDS.alias("ls", Parser::parseListCommand);
+    }
+
+    /**
+     * Represents the parser of the arguments of a command.
+     */
+    @FunctionalInterface
+    private interface ArgumentParser {
+        /**
+         * Parses the arguments of a command.
+         *
+         * @param input The user input, without leading or trailing whitespace.
+         * @param start The index where the arguments start in the input, after the keyword and the whitespace
+         *     following it, which is the length of the input if there are no arguments.
+         * @return The command.
+         * @throws DukeException If the arguments are invalid.
+         */
+        Command parse(String input, int start) throws DukeException;
+    }
 
     /**
      * Parses the input passed in and return the respective command.
@@ -49,114 +96,130 @@ public class Parser {
             return new EmptyCommand();
         }
 
-        String[] parts = input.split("\\s+", 2);
-        String command = parts[0];
-        String value = parts.length >= 2 ? parts[1].trim() : "";
-
-        switch (command) {
-            case FLAG_BYE:
-                return parseByeCommand(value);
-            case FLAG_LIST:
-                return parseListCommand(value);
-            case FLAG_MARK:
-                return parseMarkCommand(value);
-            case FLAG_UNMARK:
-                return parseUnmarkCommand(value);
-            case FLAG_TODO:
-                return parseTodoCommand(value);
-            case FLAG_DEADLINE:
-                return parseDeadlineCommand(value);
-            case FLAG_EVENT:
-                return parseEventCommand(value);
-            case FLAG_DELETE:
-                return parseDeleteCommand(value);
-            case FLAG_FIND:
-                return parseFindCommand(value);
-            default:
-                throw new DukeException("Oops!!! I'm sorry, but I don't know what that means :-(");
-        }
-    }
-
-    private static Command parseByeCommand(String value) throws DukeException{
-        if (!value.isEmpty()) {
+        int commandEnd = 0;
+        while (commandEnd < input.length() && !isSpace(input.charAt(commandEnd))) {
+            commandEnd++;
+        }
+        ArgumentParser parser = COMMANDS.find(input, 0, commandEnd);
+        if (parser == null) {
+            throw new DukeException("Oops!!! I'm sorry, but I don't know what that means :-(");
+        }
+
+        int start = commandEnd;
+        while (start < input.length() && input.charAt(start) <= ' ') {
+            start++;
+        }
+        return parser.parse(input, start);
+    }
+
+    private static Command parseByeCommand(String input, int start) throws DukeException {
+        if (start < input.length()) {
             throw new DukeException("Oops!!! The bye command should not be followed by any description");
         }
         return new ExitCommand();
     }
 
-    private static Command parseListCommand(String value) throws DukeException {
-        if (!value.isEmpty()) {
-            throw new DukeException("Oops!!! The list command should not be followed by any description");
+    private static Command parseStatsCommand(String input, int start) throws DukeException {
+        if (start < input.length()) {
+            throw new DukeException("Oops!!! The stats command should not be followed by any description");
         }
-        return new ListCommand();
+        return new StatsCommand();
     }
 
-    private static Command parseMarkCommand(String value) throws DukeException {
-        Scanner tempSc = new Scanner(value);
-
-        if (!tempSc.hasNextInt()) {
-            tempSc.close();
-            throw new DukeException("Oops!!! Invalid argument of a mark command");
+    private static Command parseUndoCommand(String input, int start) throws DukeException {
+        if (start < input.length()) {
+            throw new DukeException("Oops!!! The undo command should not be followed by any description");
         }
+        return new UndoCommand();
+    }
 
-        int index = tempSc.nextInt();
-        if (tempSc.hasNext()) {
-            // means invalid formatting for done command
-            tempSc.close();
-            throw new DukeException("Oops!!! Invalid argument of a mark command");
+    private static Command parseRedoCommand(String input, int start) throws DukeException {
+        if (start < input.length()) {
+            throw new DukeException("Oops!!! The redo command should not be followed by any description");
         }
-        tempSc.close();
-
-        return new MarkCommand(index);
+        return new RedoCommand();
     }
 
-    private static Command parseUnmarkCommand(String value) throws DukeException {
-        Scanner tempSc = new Scanner(value);
+    private static Command parseListCommand(String input, int start) throws DukeException {
+        int page = 1;
+        int pageSize = TaskManager.DEFAULT_PAGE_SIZE;
+        boolean hasPage = false;
+        boolean hasPageSize = false;
+
+        for (int i = skipWhitespace(input, start); i < input.length(); i = skipWhitespace(input, i)) {
+            int end = tokenEnd(input, i);
+            long value = readInt(input, i, end);
+            if (value != NOT_AN_INT && !hasPage) {
+                page = (int) value;
+                hasPage = true;
+            } else if (end - i == FLAG_PAGE_SIZE.length() && input.startsWith(FLAG_PAGE_SIZE, i) && !hasPageSize) {
+                i = skipWhitespace(input, end);
+                end = tokenEnd(input, i);
+                value = readInt(input, i, end);
+                if (value == NOT_AN_INT) {
+                    throw new DukeException("Oops!!! Invalid argument of a list command");
+                }
+                pageSize = (int) value;
+                hasPageSize = true;
+            } else {
+                throw new DukeException("Oops!!! Invalid argument of a list command");
+            }
+            i = end;
+        }
 
-        if (!tempSc.hasNextInt()) {
-            tempSc.close();
-            throw new DukeException("Oops!!! Invalid argument of an unmark command");
+        if (page < 1 || pageSize < 1) {
+            throw new DukeException("Oops!!! The page and page size of a list command should be positive");
         }
+        return new ListCommand(page, pageSize);
+    }
 
-        int index = tempSc.nextInt();
-        if (tempSc.hasNext()) {
-            // means invalid formatting for done command
-            tempSc.close();
-            throw new DukeException("Oops!!! Invalid argument of an unmark command");
+    private static Command parseMarkCommand(String input, int start) throws DukeException {
+        if (isSelection(input, start)) {
+            return new BulkMarkCommand(parseSelection(input, start, "Oops!!! Invalid argument of a mark command"),
+                    true);
         }
+        return new MarkCommand(parseIndex(input, start, "Oops!!! Invalid argument of a mark command"));
+    }
 
-        return new UnmarkCommand(index);
+    private static Command parseUnmarkCommand(String input, int start) throws DukeException {
+        if (isSelection(input, start)) {
+            return new BulkMarkCommand(parseSelection(input, start, "Oops!!! Invalid argument of an unmark command"),
+                    false);
+        }
+        return new UnmarkCommand(parseIndex(input, start, "Oops!!! Invalid argument of an unmark command"));
     }
 
-    private static Command parseTodoCommand(String value) throws DukeException {
-        if (value.isEmpty()) {
+    private static Command parseTodoCommand(String input, int start) throws DukeException {
+        if (start == input.length()) {
             throw new DukeException("Oops!!! The description of a todo task cannot be empty");
         }
 
-        return new TodoCommand(value);
+        return new TodoCommand(input.substring(start));
     }
 
-    private static Command parseDeadlineCommand(String value) throws DukeException {
-        String[] tempParts = value.split("/by");
-
+    private static Command parseDeadlineCommand(String input, int start) throws DukeException {
         // did not provide the /by argument
-        if (tempParts.length < 2) {
+        if (countParts(input, start, DEADLINE_SEPARATORS) < 2) {
             throw new DukeException("Oops!!! You forgot to provide a deadline for the deadline task");
         }
 
-        String taskName = tempParts[0].trim();
-        String deadline = tempParts[1].trim();
+        int by = nextSeparator(input, start, DEADLINE_SEPARATORS);
+        int deadlineStart = by + SEPARATOR_BY.length();
+        int deadlineEnd = nextSeparator(input, deadlineStart, DEADLINE_SEPARATORS);
+        String taskName = trimmed(input, start, by);
+        int deadlineFrom = trimStart(input, deadlineStart, deadlineEnd < 0 ? input.length() : deadlineEnd);
+        int deadlineTo = trimEnd(input, deadlineFrom, deadlineEnd < 0 ? input.length() : deadlineEnd);
         if (taskName.isEmpty()) {
             throw new DukeException("Oops!!! The description of a deadline task cannot be empty");
         }
-        if (deadline.isEmpty()) {
+        if (deadlineFrom == deadlineTo) {
             throw new DukeException("Oops!!! You forgot to provide a deadline for the deadline task");
         }
 
         LocalDate date;
         try {
-            date = LocalDate.parse(deadline);
-        } catch (DateTimeParseException e) {
+            date = readDate(input, deadlineFrom, deadlineTo);
+        } catch (DateTimeException e) {
             throw new DukeException("Oops!! the date format of deadline is incorrect, "
                     + "please use the format yyyy-mm-dd");
         }
@@ -164,34 +227,40 @@ public class Parser {
         return new DeadlineCommand(taskName, date);
     }
 
-    private static Command parseEventCommand(String value) throws DukeException {
-        String[] tempParts = value.split("/from|/to");
-
+    private static Command parseEventCommand(String input, int start) throws DukeException {
         // did not provide the /from /to arguments
-        if (tempParts.length < 3) {
+        if (countParts(input, start, EVENT_SEPARATORS) < 3) {
             throw new DukeException("Oops!!! Please provide a proper period for the event task");
         }
 
-        String taskName = tempParts[0].trim();
-        String start = tempParts[1].trim();
-        String end = tempParts[2].trim();
+        // the period is read between the first separators, whichever of /from and /to they are
+        int first = nextSeparator(input, start, EVENT_SEPARATORS);
+        int periodStart = afterSeparator(input, first, EVENT_SEPARATORS);
+        int second = nextSeparator(input, periodStart, EVENT_SEPARATORS);
+        int periodEnd = afterSeparator(input, second, EVENT_SEPARATORS);
+        int third = nextSeparator(input, periodEnd, EVENT_SEPARATORS);
+        String taskName = trimmed(input, start, first);
+        int startFrom = trimStart(input, periodStart, second);
+        int startTo = trimEnd(input, startFrom, second);
+        int endFrom = trimStart(input, periodEnd, third < 0 ? input.length() : third);
+        int endTo = trimEnd(input, endFrom, third < 0 ? input.length() : third);
         if (taskName.isEmpty()) {
             throw new DukeException("Oops!!! The description of an event task cannot be empty");
         }
-        if (start.isEmpty() || end.isEmpty()) {
+        if (startFrom == startTo || endFrom == endTo) {
             throw new DukeException("Oops!!! Please provide a proper period for the event task");
         }
 
         LocalDate startDate;
         LocalDate endDate;
         try {
-            startDate = LocalDate.parse(start);
-            endDate = LocalDate.parse(end);
+            startDate = readDate(input, startFrom, startTo);
+            endDate = readDate(input, endFrom, endTo);
             if (endDate.isBefore(startDate)) {
                 throw new DukeException("Oops!!! End date of an event should "
                         + "not be earlier than the start date.");
             }
-        } catch (DateTimeParseException e) {
+        } catch (DateTimeException e) {
             throw new DukeException("Oops!! the date format of event is incorrect, "
                     + "please use the format yyyy-mm-dd");
         }
@@ -199,29 +268,269 @@ public class Parser {
         return new EventCommand(taskName, startDate, endDate);
     }
 
-    private static Command parseDeleteCommand(String value) throws DukeException {
-        Scanner tempSc = new Scanner(value);
-        if (!tempSc.hasNextInt()) {
-            tempSc.close();
-            throw new DukeException("Oops!!! Invalid argument of a delete command");
+    private static Command parseDeleteCommand(String input, int start) throws DukeException {
+        if (isSelection(input, start)) {
+            return new BulkDeleteCommand(parseSelection(input, start, "Oops!!! Invalid argument of a delete command"));
         }
+        return new DeleteCommand(parseIndex(input, start, "Oops!!! Invalid argument of a delete command"));
+    }
 
-        int index = tempSc.nextInt();
-        if (tempSc.hasNext()) {
-            // means invalid formatting for done command
-            tempSc.close();
-            throw new DukeException("Oops!!! Invalid argument of a delete command");
+    /**
+     * Parses an argument that should be exactly one integer.
+     */
+    private static int parseIndex(String input, int start, String errorMessage) throws DukeException {
+        int from = skipWhitespace(input, start);
+        int end = tokenEnd(input, from);
+        long index = readInt(input, from, end);
+        if (index == NOT_AN_INT || skipWhitespace(input, end) < input.length()) {
+            // means invalid formatting for the command
+            throw new DukeException(errorMessage);
         }
-        tempSc.close();
+        return (int) index;
+    }
 
-        return new DeleteCommand(index);
+    /**
+     * Checks whether the argument of a mark, unmark or delete command selects many tasks,
+     * using ranges, a list of indices, or a keyword, rather than a single index.
+     */
+    private static boolean isSelection(String input, int start) {
+        return input.indexOf(',', start) >= 0 || input.indexOf('-', start) > start
+                || input.length() - start == KEYWORD_DONE.length() && input.startsWith(KEYWORD_DONE, start);
     }
 
-    private static Command parseFindCommand(String value) throws DukeException {
-        if (value.isEmpty()) {
+    private static TaskSelection parseSelection(String input, int start, String errorMessage) throws DukeException {
+        TaskSelection selection = TaskSelection.parse(input, start);
+        if (selection == null) {
+            throw new DukeException(errorMessage);
+        }
+        return selection;
+    }
+
+    private static Command parseFindCommand(String input, int start) throws DukeException {
+        if (start == input.length()) {
             throw new DukeException("Oops!!! Please provide an input to find");
         }
 
-        return new FindCommand(value);
+        return new FindCommand(input.substring(start));
+    }
+
+    private static Command parseDueCommand(String input, int start) throws DukeException {
+        int fromStart = skipWhitespace(input, start);
+        if (fromStart == input.length()) {
+            throw new DukeException("Oops!!! Please provide a range of dates for the due command");
+        }
+        int fromEnd = tokenEnd(input, fromStart);
+        LocalDate from = parseDate(input, fromStart, fromEnd, "due");
+        int toStart = skipWhitespace(input, fromEnd);
+        int toEnd = tokenEnd(input, toStart);
+        LocalDate to = toStart < input.length() ? parseDate(input, toStart, toEnd, "due") : from;
+        if (skipWhitespace(input, toEnd) < input.length()) {
+            throw new DukeException("Oops!!! Invalid argument of a due command");
+        }
+        if (to.isBefore(from)) {
+            throw new DukeException("Oops!!! End date of a due command should not be earlier than the start date.");
+        }
+
+        return new DueCommand(from, to);
+    }
+
+    private static Command parseOnCommand(String input, int start) throws DukeException {
+        int dateStart = skipWhitespace(input, start);
+        if (dateStart == input.length()) {
+            throw new DukeException("Oops!!! Please provide a date for the on command");
+        }
+        int dateEnd = tokenEnd(input, dateStart);
+        LocalDate date = parseDate(input, dateStart, dateEnd, "on");
+        if (skipWhitespace(input, dateEnd) < input.length()) {
+            throw new DukeException("Oops!!! Invalid argument of an on command");
+        }
+
+        return new DueCommand(date, date);
+    }
+
+    private static LocalDate parseDate(String input, int from, int to, String command) throws DukeException {
+        try {
+            return readDate(input, from, to);
+        } catch (DateTimeException e) {
+            throw new DukeException("Oops!! the date format of " + command + " is incorrect, "
+                    + "please use the format yyyy-mm-dd");
+        }
+    }
+
+    /**
+     * Reads the characters in the range as a date the way LocalDate.parse does, reading a date in the form
+     * yyyy-mm-dd directly from the characters.
+     *
+     * @throws DateTimeException If the characters are not a valid date.
+     */
+    private static LocalDate readDate(String input, int from, int to) {
+        if (to - from != DATE_LENGTH || input.charAt(from + 4) != '-' || input.charAt(from + 7) != '-') {
+            return LocalDate.parse(input.subSequence(from, to));
+        }
+        int year = readDigits(input, from, from + 4);
+        int month = readDigits(input, from + 5, from + 7);
+        int day = readDigits(input, from + 8, to);
+        if (year < 0 || month < 0 || day < 0) {
+            return LocalDate.parse(input.subSequence(from, to));
+        }
+        return LocalDate.of(year, month, day);
+    }
+
+    /**
+     * Reads the characters in the range as a number of ASCII digits.
+     *
+     * @return The number, or -1 if any character is not an ASCII digit.
+     */
+    private static int readDigits(String input, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; ++i) {
+            char c = input.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Reads the characters in the range as an integer within the range of int, with an optional sign.
+     *
+     * @return The integer, or NOT_AN_INT if the characters are not such an integer.
+     */
+    private static long readInt(String input, int from, int to) {
+        if (from == to) {
+            return NOT_AN_INT;
+        }
+        boolean isNegative = input.charAt(from) == '-';
+        int i = isNegative || input.charAt(from) == '+' ? from + 1 : from;
+        if (i == to) {
+            return NOT_AN_INT;
+        }
+        long value = 0;
+        for (; i < to; ++i) {
+            char c = input.charAt(i);
+            if (c < '0' || c > '9') {
+                return NOT_AN_INT;
+            }
+            value = value * 10 + (c - '0');
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                return NOT_AN_INT;
+            }
+        }
+        if (!isNegative && value > Integer.MAX_VALUE) {
+            return NOT_AN_INT;
+        }
+        return isNegative ? -value : value;
+    }
+
+    /**
+     * Returns the index of the first character from the given index onwards that is not whitespace.
+     */
+    private static int skipWhitespace(String input, int from) {
+        while (from < input.length() && Character.isWhitespace(input.charAt(from))) {
+            from++;
+        }
+        return from;
+    }
+
+    /**
+     * Returns the index after the token starting at the given index, which ends at the next whitespace.
+     */
+    private static int tokenEnd(String input, int from) {
+        int end = from;
+        while (end < input.length() && !Character.isWhitespace(input.charAt(end))) {
+            end++;
+        }
+        return end;
+    }
+
+    /**
+     * Checks whether the character separates the command from its argument, which is any of the ASCII whitespace.
+     */
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    /**
+     * Counts the parts of the input from the given index onwards that are separated by any of the separators,
+     * leaving out the empty parts at the end, but counting the input as one part if it has no separators.
+     */
+    private static int countParts(String input, int from, String[] separators) {
+        int partIndex = 0;
+        int partStart = from;
+        int lastNonEmptyPart = -1;
+        for (int i = nextSeparator(input, from, separators); i >= 0; i = nextSeparator(input, partStart, separators)) {
+            if (i > partStart) {
+                lastNonEmptyPart = partIndex;
+            }
+            partIndex++;
+            partStart = afterSeparator(input, i, separators);
+        }
+        if (partIndex == 0) {
+            return 1;
+        }
+        if (partStart < input.length()) {
+            lastNonEmptyPart = partIndex;
+        }
+        return lastNonEmptyPart + 1;
+    }
+
+    /**
+     * Finds the next occurrence of any of the separators in the input, from the given index onwards.
+     *
+     * @return The index of the separator, or -1 if there is none.
+     */
+    private static int nextSeparator(String input, int from, String[] separators) {
+        for (int i = input.indexOf('/', from); i >= 0; i = input.indexOf('/', i + 1)) {
+            if (separatorAt(input, i, separators) != null) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index after the separator found at the given index.
+     */
+    private static int afterSeparator(String input, int i, String[] separators) {
+        return i + separatorAt(input, i, separators).length();
+    }
+
+    private static String separatorAt(String input, int i, String[] separators) {
+        for (String separator : separators) {
+            if (input.startsWith(separator, i)) {
+                return separator;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the characters of the input in the range, without leading or trailing whitespace.
+     */
+    private static String trimmed(String input, int from, int to) {
+        int start = trimStart(input, from, to);
+        return input.substring(start, trimEnd(input, start, to));
+    }
+
+    /**
+     * Returns the index of the first character in the range that is not whitespace, or the end of the range.
+     */
+    private static int trimStart(String input, int from, int to) {
+        while (from < to && input.charAt(from) <= ' ') {
+            from++;
+        }
+        return from;
+    }
+
+    /**
+     * Returns the index after the last character in the range that is not whitespace, or the start of the range.
+     */
+    private static int trimEnd(String input, int from, int to) {
+        while (to > from && input.charAt(to - 1) <= ' ') {
+            to--;
+        }
+        return to;
     }
 }
@@ -0,0 +1,109 @@
+package duke;
+
+import java.util.Arrays;
+
+/**
+ * Represents a sorted set of task numbers stored in a primitive int array, used as a posting list of an index.
+ * Task numbers are handed out in increasing order, so adding a new task is an append.
+ */
+class PostingList {
+    private static final int INITIAL_CAPACITY = 4;
+    private int[] ids;
+    private int size;
+
+    PostingList() {
+        this.ids = new int[INITIAL_CAPACITY];
+        this.size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int get(int i) {
+        return ids[i];
+    }
+
+    /**
+     * Adds the task number to the list, keeping it sorted.
+     *
+     * @param id The task number.
+     */
+    void add(int id) {
+        if (size > 0 && ids[size - 1] >= id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                return;
+            }
+            insertAt(-position - 1, id);
+            return;
+        }
+        insertAt(size, id);
+    }
+
+    private void insertAt(int position, int id) {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        System.arraycopy(ids, position, ids, position + 1, size - position);
+        ids[position] = id;
+        size++;
+    }
+
+    /**
+     * Removes the task number from the list.
+     *
+     * @param id The task number.
+     */
+    void remove(int id) {
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position < 0) {
+            return;
+        }
+        System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+        size--;
+    }
+
+    /**
+     * Checks whether the task number is in the list, searching from the given position onwards.
+     *
+     * @param id The task number.
+     * @param from The position to start searching from.
+     * @return The position of the task number if found, or -(insertion point) - 1 otherwise.
+     */
+    int search(int id, int from) {
+        return Arrays.binarySearch(ids, from, size, id);
+    }
+
+    /**
+     * Intersects the posting lists, which should be sorted from the shortest to the longest.
+     *
+     * @param lists The posting lists to intersect.
+     * @return The task numbers in every list, in ascending order.
+     */
+    static int[] intersect(PostingList[] lists) {
+        assert lists.length > 0 : "there should be at least one posting list to intersect";
+        PostingList shortest = lists[0];
+        int[] result = new int[shortest.size];
+        int count = 0;
+        int[] cursors = new int[lists.length];
+        for (int i = 0; i < shortest.size; ++i) {
+            int id = shortest.ids[i];
+            boolean isInAll = true;
+            for (int j = 1; j < lists.length && isInAll; ++j) {
+                int position = lists[j].search(id, cursors[j]);
+                isInAll = position >= 0;
+                // every later id is larger, so the search can resume from here
+                cursors[j] = position >= 0 ? position + 1 : -position - 1;
+            }
+            if (isInAll) {
+                result[count++] = id;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+}
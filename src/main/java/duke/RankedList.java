@@ -0,0 +1,229 @@
+package duke;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * Represents a list backed by a balanced binary tree in which every node knows the size of its subtree,
+ * so that an element can be found, inserted or removed by its position in O(log n) time,
+ * instead of shifting every later element as an array list does.
+ *
+ * The tree is kept balanced by merging two subtrees at a root picked at random in proportion to their sizes,
+ * which keeps the expected depth logarithmic whatever the order of insertions and removals.
+ *
+ * @param <E> The type of the elements.
+ */
+class RankedList<E> extends AbstractList<E> {
+    private final Random random;
+    private Node<E> root;
+
+    /** Constructs an empty RankedList. */
+    RankedList() {
+        this.random = new Random();
+        this.root = null;
+    }
+
+    /**
+     * Constructs a RankedList containing the elements in the order of the collection, in O(n) time.
+     *
+     * @param elements The elements of the list.
+     */
+    @SuppressWarnings("unchecked")
+    RankedList(Collection<? extends E> elements) {
+        this();
+        Object[] array = elements.toArray();
+        this.root = build((E[]) array, 0, array.length);
+    }
+
+    private static <E> Node<E> build(E[] elements, int from, int to) {
+        if (from >= to) {
+            return null;
+        }
+        int mid = (from + to) >>> 1;
+        Node<E> node = new Node<>(elements[mid]);
+        node.left = build(elements, from, mid);
+        node.right = build(elements, mid + 1, to);
+        node.update();
+        return node;
+    }
+
+    @Override
+    public int size() {
+        return sizeOf(root);
+    }
+
+    @Override
+    public E get(int index) {
+        return nodeAt(index).value;
+    }
+
+    @Override
+    public E set(int index, E element) {
+        Node<E> node = nodeAt(index);
+        E previous = node.value;
+        node.value = element;
+        return previous;
+    }
+
+    @Override
+    public void add(int index, E element) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size());
+        }
+        Node<E>[] parts = split(root, index);
+        root = merge(merge(parts[0], new Node<>(element)), parts[1]);
+        modCount++;
+    }
+
+    @Override
+    public E remove(int index) {
+        E element = get(index);
+        root = remove(root, index);
+        modCount++;
+        return element;
+    }
+
+    @Override
+    public void clear() {
+        root = null;
+        modCount++;
+    }
+
+    /**
+     * Returns an iterator that walks the tree in order, which takes O(n) time for the whole list
+     * instead of looking up every position from the root.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<>() {
+            private final Deque<Node<E>> path = new ArrayDeque<>();
+            private final int expectedModCount = modCount;
+            private Node<E> next = root;
+
+            @Override
+            public boolean hasNext() {
+                return next != null || !path.isEmpty();
+            }
+
+            @Override
+            public E next() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                while (next != null) {
+                    path.push(next);
+                    next = next.left;
+                }
+                if (path.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                Node<E> node = path.pop();
+                next = node.right;
+                return node.value;
+            }
+        };
+    }
+
+    private Node<E> nodeAt(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size());
+        }
+        Node<E> node = root;
+        while (true) {
+            int leftSize = sizeOf(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index > leftSize) {
+                index -= leftSize + 1;
+                node = node.right;
+            } else {
+                return node;
+            }
+        }
+    }
+
+    private Node<E> remove(Node<E> node, int index) {
+        int leftSize = sizeOf(node.left);
+        if (index < leftSize) {
+            node.left = remove(node.left, index);
+        } else if (index > leftSize) {
+            node.right = remove(node.right, index - leftSize - 1);
+        } else {
+            return merge(node.left, node.right);
+        }
+        node.update();
+        return node;
+    }
+
+    /**
+     * Splits the tree into the first count elements and the rest.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Node<E>[] split(Node<E> node, int count) {
+        if (node == null) {
+            return new Node[] {null, null};
+        }
+        int leftSize = sizeOf(node.left);
+        if (count <= leftSize) {
+            Node<E>[] parts = split(node.left, count);
+            node.left = parts[1];
+            node.update();
+            parts[1] = node;
+            return parts;
+        }
+        Node<E>[] parts = split(node.right, count - leftSize - 1);
+        node.right = parts[0];
+        node.update();
+        parts[0] = node;
+        return parts;
+    }
+
+    /**
+     * Merges two trees, with every element of the left tree before every element of the right tree.
+     */
+    private Node<E> merge(Node<E> left, Node<E> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (random.nextInt(left.size + right.size) < left.size) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private static int sizeOf(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /**
+     * Represents a node of the tree, holding the size of the subtree rooted at it.
+     */
+    private static class Node<E> {
+        private E value;
+        private Node<E> left;
+        private Node<E> right;
+        private int size;
+
+        Node(E value) {
+            this.value = value;
+            this.size = 1;
+        }
+
+        void update() {
+            size = sizeOf(left) + 1 + sizeOf(right);
+        }
+    }
+}
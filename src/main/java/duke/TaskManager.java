@@ -3,46 +3,161 @@ package duke;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import task.Task;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * Represents a task manager that helps manage the list of tasks for Duke.
+ * The tasks are kept in a RankedList, so that a task can be looked up or deleted by its index
+ * in O(log n) time however long the list is.
+ *
+ * The latest changes made to the task list are recorded, so that they can be undone and redone.
+ *
+ * It is safe for concurrent use. Methods that only read the task list, such as listTasks and find, share a read lock
+ * and run in parallel, while methods that modify it take the write lock, so every modification happens
+ * atomically and in a single order seen by every reader.
  */
 public class TaskManager {
-    private List<Task> tasks;
+    /** The number of tasks listed on each page by default. */
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    /** The number of the latest changes that can be undone. */
+    public static final int HISTORY_SIZE = 100;
+    private static final int MAX_TASKS_DESCRIBED = 10;
+    private volatile List<Task> tasks;
+    private DescriptionIndex descriptionIndex;
+    private DateIndex dateIndex;
+    private final ChangeHistory history = new ChangeHistory(HISTORY_SIZE);
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
 
     /** Constructs a TaskManager with empty task list. */
     @JsonCreator
     public TaskManager() {
-        this.tasks = new ArrayList<>();
+        this.tasks = new RankedList<>();
     }
 
+    /**
+     * Returns the task list itself, not a copy, so that a memory-mapped list is not decoded as a whole.
+     * No lock is taken, since the list outlives the call: a caller that may run concurrently with modifications
+     * should hold the read lock from getReadLock while using the list, or otherwise keep the task manager
+     * from being modified, as Duke does by running modifications one at a time.
+     *
+     * @return The task list.
+     */
     public List<Task> getTasks() {
         return this.tasks;
     }
 
+    /**
+     * Returns the number of tasks in the list.
+     *
+     * @return The number of tasks.
+     */
+    public int getTaskCount() {
+        lock.readLock().lock();
+        try {
+            return this.tasks.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
     public void setTasks(List<Task> tasks) {
-        this.tasks = tasks;
+        lock.writeLock().lock();
+        try {
+            this.tasks = tasks;
+            // the indexes are built on the next query, so that loading does not pay for them
+            dropIndexes();
+            // the recorded changes refer to the tasks by their indices in the previous list
+            history.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     /**
-     * Lists the tasks in order.
+     * Returns the lock that keeps the task list from being modified while it is held,
+     * for reading the task list returned by getTasks.
      *
-     * @return The string representation of the list of tasks.
+     * @return The read lock of the task list.
+     */
+    public Lock getReadLock() {
+        return lock.readLock();
+    }
+
+    /**
+     * Lists the tasks in order, one page of the default size at a time.
+     *
+     * @return The string representation of the first page of tasks.
      */
     public String listTasks() {
-        if (tasks.size() == 0) {
-            return "There are no tasks in your list.\n";
+        try {
+            return listTasks(1, DEFAULT_PAGE_SIZE);
+        } catch (DukeException e) {
+            throw new AssertionError("the first page should always exist", e);
         }
+    }
 
-        StringBuilder sb = new StringBuilder();
-        sb.append("Here are the tasks in your list:\n");
-        for (int i = 0; i < tasks.size(); ++i) {
-            String item = (i + 1) + "." + tasks.get(i).toString() + "\n";
-            sb.append(item);
+    /**
+     * Lists one page of the tasks in order, so that the output is bounded by the page size
+     * however long the list is.
+     *
+     * @param page The page to be listed(1-indexed).
+     * @param pageSize The number of tasks on each page.
+     * @return The string representation of the page of tasks.
+     * @throws DukeException If the page does not exist.
+     */
+    public String listTasks(int page, int pageSize) throws DukeException {
+        lock.readLock().lock();
+        try {
+            assert pageSize > 0 : "page size should be positive";
+            if (tasks.size() == 0) {
+                return "There are no tasks in your list.\n";
+            }
+
+            int pageCount = (tasks.size() - 1) / pageSize + 1;
+            if (page < 1 || page > pageCount) {
+                throw new DukeException("Oops!!! There " + (pageCount == 1 ? "is only 1 page" : "are only "
+                        + pageCount + " pages") + " of tasks in your list");
+            }
+
+            StringBuilder sb = new StringBuilder();
+            sb.append("Here are the tasks in your list:\n");
+            int from = (page - 1) * pageSize;
+            streamTasks(from, Math.min(from + pageSize, tasks.size()))
+                    .forEach(line -> sb.append(line).append('\n'));
+            if (page < pageCount) {
+                sb.append("Page ").append(page).append(" of ").append(pageCount)
+                        .append(", enter list ").append(page + 1).append(" to see more.\n");
+            }
+            return sb.toString();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the lines listing the tasks in the given range, which are only rendered as the stream is consumed.
+     * The tasks in the range are captured when this is called, so later changes to the list do not affect the stream.
+     *
+     * @param from The index of the first task in the range(0-indexed, inclusive).
+     * @param to The index after the last task in the range(0-indexed, exclusive).
+     * @return The lines listing the tasks, each in the same format as listTasks.
+     */
+    public Stream<String> streamTasks(int from, int to) {
+        lock.readLock().lock();
+        try {
+            assert 0 <= from && from <= to && to <= tasks.size() : "range of tasks should be within the list";
+            Task[] range = tasks.subList(from, to).toArray(new Task[0]);
+            return IntStream.range(0, range.length).mapToObj(i -> (from + i + 1) + "." + range[i].toString());
+        } finally {
+            lock.readLock().unlock();
         }
-        return sb.toString();
     }
 
     /**
@@ -52,10 +167,17 @@ public class TaskManager {
      * @return The string description after adding the task.
      */
     public String addTask(Task task) {
-        this.tasks.add(task);
-        return "Got it. I've added this task:\n  "
-                + task.toString() + "\n"
-                + "Now you have " + tasks.size() + " tasks in the list.\n";
+        lock.writeLock().lock();
+        try {
+            this.tasks.add(task);
+            indexAdded(task);
+            history.record(Change.insert(new int[] {tasks.size()}, new Task[] {task}));
+            return "Got it. I've added this task:\n  "
+                    + task.toString() + "\n"
+                    + "Now you have " + tasks.size() + " tasks in the list.\n";
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
 
@@ -68,17 +190,25 @@ public class TaskManager {
      * @throws DukeException If the index is out of bound.
      */
     public String markTask(int i, boolean done) throws DukeException {
-        i--;
-        if (i < 0 || i >= this.tasks.size()) {
-            // invalid index
-            throw new DukeException("Please input a valid index for the task to marked/unmarked");
-        }
+        lock.writeLock().lock();
+        try {
+            i--;
+            if (i < 0 || i >= this.tasks.size()) {
+                // invalid index
+                throw new DukeException("Please input a valid index for the task to marked/unmarked");
+            }
 
-        Task task = this.tasks.get(i);
-        task.markTask(done);
-        return done
-                ? "Nice! I've marked this task as done:\n  " + task.toString() + "\n"
-                : "OK, I've marked this task as not done yet:\n  " + task.toString() + "\n";
+            Task task = this.tasks.get(i);
+            if (task.getIsDone() != done) {
+                history.record(Change.mark(new int[] {i + 1}, new Task[] {task}, done));
+            }
+            task.markTask(done);
+            return done
+                    ? "Nice! I've marked this task as done:\n  " + task.toString() + "\n"
+                    : "OK, I've marked this task as not done yet:\n  " + task.toString() + "\n";
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     /**
@@ -89,17 +219,299 @@ public class TaskManager {
      * @throws DukeException If the index is out of bound.
      */
     public String deleteTask(int i) throws DukeException {
-        i--;
-        if (i < 0 || i >= this.tasks.size()) {
-            // invalid index
-            throw new DukeException("Please input a valid index for the task to removed");
+        lock.writeLock().lock();
+        try {
+            i--;
+            if (i < 0 || i >= this.tasks.size()) {
+                // invalid index
+                throw new DukeException("Please input a valid index for the task to removed");
+            }
+
+            Task task = this.tasks.remove(i);
+            indexRemoved(task, i);
+            history.record(Change.delete(new int[] {i + 1}, new Task[] {task}));
+            return "Noted! I've removed this task:\n  "
+                    + task.toString() + "\n"
+                    + "Now you have " + this.tasks.size() + " tasks in the list.\n";
+        } finally {
+            lock.writeLock().unlock();
         }
+    }
 
-        Task task = this.tasks.remove(i);
-        return "Noted! I've removed this task:\n  "
-                + task.toString() + "\n"
-                + "Now you have " + this.tasks.size() + " tasks in the list.\n";
+    /**
+     * Finds the indices of the tasks in the selection.
+     *
+     * @param selection The selection of tasks.
+     * @return The distinct indices(1-indexed) of the selected tasks, in ascending order.
+     * @throws DukeException If an index in the selection is not in the list.
+     */
+    public int[] selectTasks(TaskSelection selection) throws DukeException {
+        lock.readLock().lock();
+        try {
+            return selection.resolve(tasks);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
 
+    /**
+     * Marks the tasks at the indices as either done or not done, all at once.
+     *
+     * @param indices The distinct indices of the tasks in the list(1-indexed), in ascending order.
+     * @param done Whether to mark the tasks as done or not.
+     * @return The String description after marking the tasks.
+     * @throws DukeException If any index is out of bound, in which case no task is marked.
+     */
+    public String markTasks(int[] indices, boolean done) throws DukeException {
+        lock.writeLock().lock();
+        try {
+            checkIndices(indices, "Please input a valid index for the task to marked/unmarked");
+            List<Task> marked = new ArrayList<>();
+            // only the tasks whose status changes have to be reverted on undo
+            int[] changedIndices = new int[indices.length];
+            Task[] changedTasks = new Task[indices.length];
+            int changedCount = 0;
+            for (int i : indices) {
+                Task task = this.tasks.get(i - 1);
+                if (task.getIsDone() != done) {
+                    changedIndices[changedCount] = i;
+                    changedTasks[changedCount++] = task;
+                }
+                task.markTask(done);
+                marked.add(task);
+            }
+            if (changedCount > 0) {
+                history.record(Change.mark(Arrays.copyOf(changedIndices, changedCount),
+                        Arrays.copyOf(changedTasks, changedCount), done));
+            }
+            return (done ? "Nice! I've marked " : "OK, I've marked ") + describeCount(marked.size())
+                    + (done ? " as done:\n" : " as not done yet:\n") + describeTasks(marked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Deletes the tasks at the indices from the list of tasks, all at once.
+     * The indices refer to the positions before any of the tasks is deleted.
+     *
+     * @param indices The distinct indices of the tasks to be deleted(1-indexed), in ascending order.
+     * @return The string description after deleting the tasks.
+     * @throws DukeException If any index is out of bound, in which case no task is deleted.
+     */
+    public String deleteTasks(int[] indices) throws DukeException {
+        lock.writeLock().lock();
+        try {
+            checkIndices(indices, "Please input a valid index for the task to removed");
+            Task[] removed = new Task[indices.length];
+            // deleting from the back leaves the positions of the tasks still to be deleted unchanged
+            for (int j = indices.length - 1; j >= 0; --j) {
+                removed[j] = this.tasks.remove(indices[j] - 1);
+                indexRemoved(removed[j], indices[j] - 1);
+            }
+            if (indices.length > 0) {
+                history.record(Change.delete(indices, removed));
+            }
+            return "Noted! I've removed " + describeCount(removed.length) + ":\n"
+                    + describeTasks(Arrays.asList(removed))
+                    + "Now you have " + this.tasks.size() + " tasks in the list.\n";
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Inserts the tasks into the list of tasks, all at once, such as to put deleted tasks back where they were.
+     * The indices refer to the positions after all of the tasks are inserted.
+     *
+     * @param indices The distinct indices of the tasks once inserted(1-indexed), in ascending order.
+     * @param tasks The tasks to be inserted, in the order of their indices.
+     * @return The string description after inserting the tasks.
+     * @throws DukeException If any index is out of bound, in which case no task is inserted.
+     */
+    public String insertTasks(int[] indices, Task[] tasks) throws DukeException {
+        lock.writeLock().lock();
+        try {
+            Change change = Change.insert(indices, tasks);
+            apply(change);
+            history.record(change);
+            return change.describe() + "Now you have " + this.tasks.size() + " tasks in the list.\n";
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Reverts the latest change to the task list that has not been undone.
+     *
+     * @return The change made to revert it, to be saved to the disk.
+     * @throws DukeException If there is no change to undo.
+     */
+    public Change undo() throws DukeException {
+        lock.writeLock().lock();
+        try {
+            Change change = history.undo();
+            if (change == null) {
+                throw new DukeException("Oops!!! There is nothing to undo");
+            }
+            Change inverse = change.inverse();
+            try {
+                apply(inverse);
+            } catch (DukeException e) {
+                // the change is still the next to be undone
+                history.redo();
+                throw e;
+            }
+            return inverse;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Makes again the change to the task list undone last, unless another change was made since.
+     *
+     * @return The change made, to be saved to the disk.
+     * @throws DukeException If there is no change to redo.
+     */
+    public Change redo() throws DukeException {
+        lock.writeLock().lock();
+        try {
+            Change change = history.redo();
+            if (change == null) {
+                throw new DukeException("Oops!!! There is nothing to redo");
+            }
+            try {
+                apply(change);
+            } catch (DukeException e) {
+                // the change is still the next to be redone
+                history.undo();
+                throw e;
+            }
+            return change;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Forgets the recorded changes, so that they can no longer be undone.
+     */
+    public void clearHistory() {
+        lock.writeLock().lock();
+        try {
+            history.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Makes a change to the task list without recording it, while holding the write lock.
+     */
+    private void apply(Change change) throws DukeException {
+        int[] indices = change.getIndices();
+        Task[] changed = change.getTasks();
+        switch (change.getKind()) {
+            case INSERT:
+                for (int j = 0; j < indices.length; ++j) {
+                    assert j == 0 || indices[j - 1] < indices[j] : "indices should be distinct and in ascending order";
+                    // the tasks before it are inserted first, so the list has grown by j tasks by then
+                    if (indices[j] < 1 || indices[j] > this.tasks.size() + j + 1) {
+                        throw new DukeException("Please input a valid index for the task to be inserted");
+                    }
+                }
+                for (int j = 0; j < indices.length; ++j) {
+                    insertAt(indices[j] - 1, changed[j]);
+                }
+                break;
+            case DELETE:
+                checkIndices(indices, "Please input a valid index for the task to removed");
+                for (int j = indices.length - 1; j >= 0; --j) {
+                    indexRemoved(this.tasks.remove(indices[j] - 1), indices[j] - 1);
+                }
+                break;
+            default:
+                checkIndices(indices, "Please input a valid index for the task to marked/unmarked");
+                for (int i : indices) {
+                    this.tasks.get(i - 1).markTask(change.isDone());
+                }
+                break;
+        }
+    }
+
+    private void insertAt(int i, Task task) {
+        if (i == this.tasks.size()) {
+            this.tasks.add(task);
+            indexAdded(task);
+            return;
+        }
+
+        this.tasks.add(i, task);
+        if (descriptionIndex != null && !descriptionIndex.insert(task, i)) {
+            descriptionIndex.detach();
+            descriptionIndex = null;
+        }
+        if (dateIndex != null && !dateIndex.insert(task, i)) {
+            dateIndex.detach();
+            dateIndex = null;
+        }
+    }
+
+    private void dropIndexes() {
+        if (descriptionIndex != null) {
+            descriptionIndex.detach();
+            descriptionIndex = null;
+        }
+        if (dateIndex != null) {
+            dateIndex.detach();
+            dateIndex = null;
+        }
+    }
+
+    private void indexAdded(Task task) {
+        if (descriptionIndex != null) {
+            descriptionIndex.add(task);
+        }
+        if (dateIndex != null) {
+            dateIndex.add(task);
+        }
+    }
+
+    private void indexRemoved(Task task, int position) {
+        if (descriptionIndex != null) {
+            descriptionIndex.remove(task);
+        }
+        if (dateIndex != null) {
+            dateIndex.remove(task, position);
+        }
+    }
+
+    private void checkIndices(int[] indices, String message) throws DukeException {
+        for (int j = 0; j < indices.length; ++j) {
+            assert j == 0 || indices[j - 1] < indices[j] : "indices should be distinct and in ascending order";
+            if (indices[j] < 1 || indices[j] > this.tasks.size()) {
+                throw new DukeException(message);
+            }
+        }
+    }
+
+    static String describeCount(int count) {
+        return count == 1 ? "1 task" : count + " tasks";
+    }
+
+    /**
+     * Describes the tasks one on each line, listing only the first few of a long list.
+     */
+    static String describeTasks(List<Task> tasks) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < Math.min(tasks.size(), MAX_TASKS_DESCRIBED); ++i) {
+            sb.append("  ").append(tasks.get(i)).append('\n');
+        }
+        if (tasks.size() > MAX_TASKS_DESCRIBED) {
+            sb.append("  ...and ").append(tasks.size() - MAX_TASKS_DESCRIBED).append(" more\n");
+        }
+        return sb.toString();
     }
 
     /**
@@ -109,28 +521,96 @@ public class TaskManager {
      * @return The string representation of task found.
      */
     public String find(String pattern) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("Here are the matching tasks in your list:\n");
-        boolean isFound = false;
-        for (int i = 0; i < tasks.size(); ++i) {
-            Task t = tasks.get(i);
-            if (t.descriptionContains(pattern)) {
-                isFound = true;
-                sb.append(i + 1 + ". ");
-                sb.append(t);
-                sb.append('\n');
+        lock.readLock().lock();
+        try {
+            if (descriptionIndex == null) {
+                buildIndex(() -> {
+                    if (descriptionIndex == null) {
+                        descriptionIndex = new DescriptionIndex(tasks);
+                    }
+                });
+            }
+
+            List<Integer> positions = descriptionIndex.find(pattern);
+            if (positions.isEmpty()) {
+                return "There is no task that matched.";
+            }
+            return "Here are the matching tasks in your list:\n" + describePositions(positions);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the Deadline tasks due within the range of dates, and the Event tasks overlapping it.
+     *
+     * @param from The first date of the range.
+     * @param to The last date of the range, not before the first.
+     * @return The string representation of the tasks found.
+     */
+    public String findByDate(LocalDate from, LocalDate to) {
+        lock.readLock().lock();
+        try {
+            assert !to.isBefore(from) : "range of dates should not end before it starts";
+            if (dateIndex == null) {
+                buildIndex(() -> {
+                    if (dateIndex == null) {
+                        dateIndex = new DateIndex(tasks);
+                    }
+                });
             }
+
+            String range = from.equals(to)
+                    ? "on " + from.format(Task.DATE_FORMAT)
+                    : "from " + from.format(Task.DATE_FORMAT) + " to " + to.format(Task.DATE_FORMAT);
+            List<Integer> positions = dateIndex.find(from, to);
+            if (positions.isEmpty()) {
+                return "There is no task due or happening " + range + ".";
+            }
+            return "Here are the tasks due or happening " + range + ":\n" + describePositions(positions);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private String describePositions(List<Integer> positions) {
+        StringBuilder sb = new StringBuilder();
+        for (int i : positions) {
+            sb.append(i + 1 + ". ");
+            sb.append(tasks.get(i));
+            sb.append('\n');
         }
+        return sb.toString();
+    }
 
-        return isFound ? sb.toString() : "There is no task that matched.";
+    /**
+     * Builds an index while holding the read lock, by trading it for the write lock for the duration
+     * of the build, since a read lock cannot be upgraded. The build should check whether the index is still missing,
+     * since another thread may have built it while no lock was held.
+     */
+    private void buildIndex(Runnable build) {
+        lock.readLock().unlock();
+        lock.writeLock().lock();
+        try {
+            build.run();
+        } finally {
+            // downgrade to the read lock before releasing the write lock
+            lock.readLock().lock();
+            lock.writeLock().unlock();
+        }
     }
 
     @Override
     public String toString() {
-        StringBuilder sb = new StringBuilder();
-        for (Task t : tasks) {
-            sb.append(t.toString());
+        lock.readLock().lock();
+        try {
+            StringBuilder sb = new StringBuilder();
+            for (Task t : tasks) {
+                sb.append(t.toString());
+            }
+            return sb.toString();
+        } finally {
+            lock.readLock().unlock();
         }
-        return sb.toString();
     }
 }
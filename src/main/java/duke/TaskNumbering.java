@@ -0,0 +1,110 @@
+package duke;
+
+import task.Task;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents the numbers given by an index to the tasks it indexes, so that the index can refer to a task
+ * by a number and find where the task is in the task list.
+ *
+ * Tasks are numbered in the order of the task list, so the position of a task in the list can be found by binary
+ * search over the numbers. Tasks appended to the list get a number after every other, while a task inserted into
+ * the list has to fit a number between those of its neighbours.
+ */
+class TaskNumbering {
+    private final List<Task> tasks;
+    private final Map<Task, Integer> ids;
+    private int nextId;
+
+    /**
+     * Constructs an empty TaskNumbering over the task list.
+     *
+     * @param tasks The task list.
+     */
+    TaskNumbering(List<Task> tasks) {
+        this.tasks = tasks;
+        this.ids = new IdentityHashMap<>();
+    }
+
+    /**
+     * Numbers a task that was just added to the end of the task list.
+     *
+     * @param task The task added.
+     * @return The number of the task.
+     */
+    int add(Task task) {
+        int id = nextId++;
+        ids.put(task, id);
+        return id;
+    }
+
+    /**
+     * Numbers a task that was just inserted into the task list, with a number between those of its neighbours.
+     * There is such a number if a task was removed from between them since they were numbered, as when
+     * a removed task is put back where it was.
+     *
+     * @param task The task inserted.
+     * @param position The position(0-indexed) of the task in the list.
+     * @return The number of the task, or null if its neighbours have consecutive numbers.
+     */
+    Integer insert(Task task, int position) {
+        int before = position == 0 ? -1 : ids.get(tasks.get(position - 1));
+        int after = position + 1 == tasks.size() ? nextId : ids.get(tasks.get(position + 1));
+        if (after - before < 2) {
+            return null;
+        }
+        int id = before + (after - before) / 2;
+        ids.put(task, id);
+        return id;
+    }
+
+    /**
+     * Returns the tasks that are numbered.
+     */
+    Iterable<Task> getTasks() {
+        return ids.keySet();
+    }
+
+    /**
+     * Forgets the number of a task that was just removed from the task list.
+     *
+     * @param task The task removed.
+     * @return The number the task had, or null if it was not numbered.
+     */
+    Integer remove(Task task) {
+        return ids.remove(task);
+    }
+
+    /**
+     * Returns the number of the task, or null if it is not numbered.
+     */
+    Integer idOf(Task task) {
+        return ids.get(task);
+    }
+
+    /**
+     * Finds the position of the task with the given number by binary search, since numbers increase along the list.
+     *
+     * @param id The number of a task in the list.
+     * @return The position(0-indexed) of the task in the list.
+     */
+    int positionOf(int id) {
+        int low = 0;
+        int high = tasks.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midId = ids.get(tasks.get(mid));
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        throw new IllegalStateException("indexed task is missing from the task list");
+    }
+}
@@ -0,0 +1,154 @@
+package duke;
+
+import task.Task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Represents a selection of tasks that a bulk command applies to, either the tasks at some ranges of indices,
+ * such as {@code 1,4,9} or {@code 3-500}, or every task that is done.
+ */
+public class TaskSelection {
+    private static final String KEYWORD_DONE = "done";
+    private final boolean isDoneSelected;
+    private final List<int[]> ranges;
+
+    private TaskSelection(boolean isDoneSelected, List<int[]> ranges) {
+        this.isDoneSelected = isDoneSelected;
+        this.ranges = ranges;
+    }
+
+    /**
+     * Parses a selection of tasks, which is either the keyword done or a comma separated list of indices
+     * and ranges of indices(1-indexed, inclusive).
+     *
+     * @param value The selection to be parsed.
+     * @return The selection of tasks, or null if value is not a valid selection.
+     */
+    public static TaskSelection parse(String value) {
+        return parse(value, 0);
+    }
+
+    /**
+     * Parses a selection of tasks from the given index of the input to its end, reading the indices directly
+     * from the characters without creating a string for any part of the selection.
+     *
+     * @param input The input holding the selection.
+     * @param from The index where the selection starts in the input.
+     * @return The selection of tasks, or null if the selection is not valid.
+     */
+    public static TaskSelection parse(String input, int from) {
+        if (input.length() - from == KEYWORD_DONE.length() && input.startsWith(KEYWORD_DONE, from)) {
+            return new TaskSelection(true, List.of());
+        }
+
+        List<int[]> ranges = new ArrayList<>();
+        int partStart = from;
+        while (true) {
+            int partEnd = input.indexOf(',', partStart);
+            if (partEnd < 0) {
+                partEnd = input.length();
+            }
+            int dash = input.indexOf('-', partStart);
+            if (dash >= partEnd) {
+                dash = -1;
+            }
+            int secondDash = dash < 0 ? -1 : input.indexOf('-', dash + 1);
+            if (secondDash >= 0 && secondDash < partEnd) {
+                // a range has only two bounds
+                return null;
+            }
+
+            int start = parseBound(input, partStart, dash < 0 ? partEnd : dash);
+            int end = dash < 0 ? start : parseBound(input, dash + 1, partEnd);
+            if (start < 1 || end < start) {
+                return null;
+            }
+            ranges.add(new int[] {start, end});
+            if (partEnd == input.length()) {
+                return new TaskSelection(false, ranges);
+            }
+            partStart = partEnd + 1;
+        }
+    }
+
+    /**
+     * Reads the characters in the range, without leading or trailing whitespace, as an index
+     * with an optional plus sign, accepting the same digits as Integer.parseInt.
+     *
+     * @return The index, or -1 if the characters are not an index within the range of int.
+     */
+    private static int parseBound(String input, int from, int to) {
+        while (from < to && input.charAt(from) <= ' ') {
+            from++;
+        }
+        while (to > from && input.charAt(to - 1) <= ' ') {
+            to--;
+        }
+        if (from < to && input.charAt(from) == '+') {
+            from++;
+        }
+        if (from == to) {
+            return -1;
+        }
+
+        long value = 0;
+        for (int i = from; i < to; ++i) {
+            int digit = Character.digit(input.charAt(i), 10);
+            if (digit < 0) {
+                return -1;
+            }
+            value = value * 10 + digit;
+            if (value > Integer.MAX_VALUE) {
+                return -1;
+            }
+        }
+        return (int) value;
+    }
+
+    /**
+     * Finds the indices of the selected tasks in the task list.
+     *
+     * @param tasks The task list.
+     * @return The distinct indices(1-indexed) of the selected tasks, in ascending order.
+     * @throws DukeException If an index in the selection is not in the task list.
+     */
+    int[] resolve(List<Task> tasks) throws DukeException {
+        BitSet selected = new BitSet(tasks.size());
+        if (isDoneSelected) {
+            int i = 0;
+            for (Task task : tasks) {
+                if (task.getIsDone()) {
+                    selected.set(i);
+                }
+                i++;
+            }
+        }
+        for (int[] range : ranges) {
+            if (range[1] > tasks.size()) {
+                throw new DukeException("Oops!!! There " + (tasks.size() == 1 ? "is only 1 task" : "are only "
+                        + tasks.size() + " tasks") + " in your list");
+            }
+            selected.set(range[0] - 1, range[1]);
+        }
+        return selected.stream().map(i -> i + 1).toArray();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (other instanceof TaskSelection) {
+            TaskSelection temp = (TaskSelection) other;
+            return temp.isDoneSelected == this.isDoneSelected && temp.ranges.size() == this.ranges.size()
+                    && Arrays.deepEquals(temp.ranges.toArray(), this.ranges.toArray());
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.deepHashCode(ranges.toArray()) * 31 + Boolean.hashCode(isDoneSelected);
+    }
+}
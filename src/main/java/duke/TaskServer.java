@@ -0,0 +1,367 @@
+package duke;
+
+import command.Command;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Represents a server that lets many clients share one Duke over TCP connections to localhost,
+ * without starting the user interface.
+ *
+ * The protocol is line based. A client sends one command on each line, in UTF-8, and receives the response to every
+ * command in order, as the lines of the response followed by a line holding a single ".". A line of the response
+ * that starts with "." has another "." put in front of it, so that it cannot be mistaken for the end of the response.
+ * An exit command ends the session of the client that sent it, after its response.
+ *
+ * Every connection is served by a single thread waiting on a selector, so an idle connection costs no thread.
+ * Commands are executed on a pool of workers, one command of each connection at a time, so the commands of
+ * a connection take effect in the order they were sent, while those of different connections run in parallel
+ * as far as Duke allows.
+ *
+ * Usage: {@code TaskServer [--port <port>] [--workers <count>] [--data <storage file>]}.
+ */
+public class TaskServer implements Closeable {
+    /** The port the server listens on unless specified otherwise. */
+    public static final int DEFAULT_PORT = 5123;
+    /** The line that ends every response. */
+    public static final String END_OF_RESPONSE = ".";
+    private static final String FLAG_PORT = "--port";
+    private static final String FLAG_WORKERS = "--workers";
+    private static final String FLAG_DATA = "--data";
+    private static final String DEFAULT_DATA_FILE = "data/tasks.json";
+    private static final int BACKLOG = 1024;
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_LINE_LENGTH = 64 * 1024;
+    private static final int MAX_PENDING_COMMANDS = 256;
+
+    private final Duke duke;
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final ExecutorService workers;
+    private final Queue<Connection> completed;
+    private final ByteBuffer readBuffer;
+    private volatile boolean isRunning;
+
+    /**
+     * Constructs a TaskServer listening on the port of localhost, which serves clients once run is called.
+     *
+     * @param duke The Duke shared by every client.
+     * @param port The port to listen on, or 0 for any free port.
+     * @param workerCount The number of commands that may be executed at once.
+     * @throws IOException If the port could not be listened on.
+     */
+    public TaskServer(Duke duke, int port, int workerCount) throws IOException {
+        this.duke = duke;
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        this.serverChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), BACKLOG);
+        this.serverChannel.configureBlocking(false);
+        this.serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        this.workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "duke-server-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.completed = new ConcurrentLinkedQueue<>();
+        this.readBuffer = ByteBuffer.allocate(BUFFER_SIZE);
+        this.isRunning = true;
+
+        assert this.duke != null : "duke of server should not be null";
+        assert workerCount > 0 : "server should have at least one worker";
+    }
+
+    /**
+     * Returns the port the server is listening on.
+     *
+     * @return The port of localhost.
+     * @throws IOException If the port could not be found.
+     */
+    public int getPort() throws IOException {
+        return ((InetSocketAddress) serverChannel.getLocalAddress()).getPort();
+    }
+
+    /**
+     * Serves clients on the calling thread until the server is closed, after which every connection is closed.
+     *
+     * @throws IOException If the server could not wait for clients.
+     */
+    public void run() throws IOException {
+        try {
+            while (isRunning) {
+                selector.select();
+                Connection connection;
+                while ((connection = completed.poll()) != null) {
+                    onCompleted(connection);
+                }
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                    } else {
+                        handle((Connection) key.attachment(), key);
+                    }
+                }
+            }
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                key.channel().close();
+            }
+            selector.close();
+            workers.shutdown();
+        }
+    }
+
+    /**
+     * Stops the server, which closes every connection without waiting for the commands being executed.
+     */
+    @Override
+    public void close() {
+        isRunning = false;
+        selector.wakeup();
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+            SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+            key.attach(new Connection(channel, key));
+        }
+    }
+
+    private void handle(Connection connection, SelectionKey key) {
+        try {
+            if (key.isReadable()) {
+                read(connection);
+            }
+            if (key.isValid() && key.isWritable()) {
+                write(connection);
+            }
+        } catch (IOException e) {
+            // the client went away, its remaining commands are dropped
+            connection.close();
+        }
+    }
+
+    private void read(Connection connection) throws IOException {
+        readBuffer.clear();
+        int count = connection.channel.read(readBuffer);
+        if (count < 0) {
+            connection.isInputEnded = true;
+            connection.setReading(false);
+            closeIfDone(connection);
+            return;
+        }
+
+        readBuffer.flip();
+        while (readBuffer.hasRemaining()) {
+            byte b = readBuffer.get();
+            if (b == '\n') {
+                connection.commands.add(connection.takeLine());
+            } else if (connection.line.size() < MAX_LINE_LENGTH) {
+                connection.line.write(b);
+            } else {
+                throw new IOException("Line too long");
+            }
+        }
+        dispatch(connection);
+    }
+
+    private void write(Connection connection) throws IOException {
+        while (!connection.responses.isEmpty()) {
+            ByteBuffer response = connection.responses.peek();
+            connection.channel.write(response);
+            if (response.hasRemaining()) {
+                // the socket is full, wait until it can be written again
+                return;
+            }
+            connection.responses.poll();
+        }
+        connection.setWriting(false);
+        closeIfDone(connection);
+    }
+
+    /**
+     * Executes the next command of the connection on a worker, unless one of its commands is still being executed.
+     */
+    private void dispatch(Connection connection) {
+        if (!connection.isBusy && !connection.isExiting && !connection.commands.isEmpty()) {
+            connection.isBusy = true;
+            String input = connection.commands.poll();
+            workers.execute(() -> execute(connection, input));
+        }
+        connection.setReading(!connection.isInputEnded && !connection.isExiting
+                && connection.commands.size() < MAX_PENDING_COMMANDS);
+    }
+
+    /**
+     * Executes a command on a worker, and hands the response back to the selector thread.
+     */
+    private void execute(Connection connection, String input) {
+        String response;
+        boolean isExit = false;
+        try {
+            Command c = duke.parse(input);
+            isExit = c.isExit();
+            response = duke.execute(c);
+        } catch (DukeException e) {
+            response = e.getMessage();
+        } catch (RuntimeException e) {
+            response = "Oops!!! Something went wrong while executing the command";
+        }
+        connection.result = encode(response);
+        connection.isResultExit = isExit;
+        completed.add(connection);
+        selector.wakeup();
+    }
+
+    private void onCompleted(Connection connection) {
+        connection.isBusy = false;
+        connection.isExiting |= connection.isResultExit;
+        if (!connection.key.isValid()) {
+            return;
+        }
+        connection.responses.add(connection.result);
+        connection.setWriting(true);
+        dispatch(connection);
+    }
+
+    private void closeIfDone(Connection connection) {
+        boolean hasNoMoreResponses = !connection.isBusy && connection.responses.isEmpty();
+        boolean hasNoMoreCommands = connection.isExiting || connection.isInputEnded && connection.commands.isEmpty();
+        if (hasNoMoreResponses && hasNoMoreCommands) {
+            connection.close();
+        }
+    }
+
+    /**
+     * Encodes a response as its lines followed by the end of response line.
+     */
+    static ByteBuffer encode(String response) {
+        StringBuilder sb = new StringBuilder(response.length() + 8);
+        String stripped = response.stripTrailing();
+        int start = 0;
+        while (start < stripped.length()) {
+            int end = stripped.indexOf('\n', start);
+            end = end < 0 ? stripped.length() : end;
+            if (stripped.startsWith(END_OF_RESPONSE, start)) {
+                sb.append(END_OF_RESPONSE);
+            }
+            sb.append(stripped, start, end).append('\n');
+            start = end + 1;
+        }
+        sb.append(END_OF_RESPONSE).append('\n');
+        return ByteBuffer.wrap(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Represents the state of a client connection. Apart from the result handed over by a worker,
+     * it is only accessed by the selector thread.
+     */
+    private static class Connection {
+        private final SocketChannel channel;
+        private final SelectionKey key;
+        private final ByteArrayOutputStream line;
+        private final Deque<String> commands;
+        private final Deque<ByteBuffer> responses;
+        private boolean isBusy;
+        private boolean isInputEnded;
+        private boolean isExiting;
+        private ByteBuffer result;
+        private boolean isResultExit;
+
+        Connection(SocketChannel channel, SelectionKey key) {
+            this.channel = channel;
+            this.key = key;
+            this.line = new ByteArrayOutputStream();
+            this.commands = new ArrayDeque<>();
+            this.responses = new ArrayDeque<>();
+        }
+
+        /**
+         * Returns the line read so far without its line terminator, and starts a new line.
+         */
+        String takeLine() {
+            String text = line.toString(StandardCharsets.UTF_8);
+            line.reset();
+            return text.endsWith("\r") ? text.substring(0, text.length() - 1) : text;
+        }
+
+        void setReading(boolean isReading) {
+            setInterest(SelectionKey.OP_READ, isReading);
+        }
+
+        void setWriting(boolean isWriting) {
+            setInterest(SelectionKey.OP_WRITE, isWriting);
+        }
+
+        private void setInterest(int op, boolean isInterested) {
+            if (key.isValid()) {
+                key.interestOps(isInterested ? key.interestOps() | op : key.interestOps() & ~op);
+            }
+        }
+
+        void close() {
+            key.cancel();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // nothing more can be done for this client
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = DEFAULT_PORT;
+        int workerCount = Runtime.getRuntime().availableProcessors();
+        String dataFile = DEFAULT_DATA_FILE;
+        try {
+            for (int i = 0; i < args.length; ++i) {
+                if (FLAG_PORT.equals(args[i]) && i + 1 < args.length) {
+                    port = Integer.parseInt(args[++i]);
+                } else if (FLAG_WORKERS.equals(args[i]) && i + 1 < args.length) {
+                    workerCount = Integer.parseInt(args[++i]);
+                } else if (FLAG_DATA.equals(args[i]) && i + 1 < args.length) {
+                    dataFile = args[++i];
+                } else {
+                    throw new IllegalArgumentException(args[i]);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println("Usage: TaskServer [--port <port>] [--workers <count>] [--data <storage file>]");
+            System.exit(1);
+        }
+
+        File file = new File(dataFile);
+        Duke duke = new Duke(file.getParent() == null ? "." : file.getParent(), file.getName());
+        try (TaskServer server = new TaskServer(duke, port, workerCount)) {
+            System.out.println("Orion is listening on localhost:" + server.getPort());
+            server.run();
+        }
+    }
+}
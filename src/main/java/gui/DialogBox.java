@@ -1,53 +1,93 @@
 package gui;
 
-import java.io.IOException;
-import java.util.Collections;
-
-import gui.MainWindow;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
-import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
+import javafx.geometry.Insets;
 import javafx.geometry.Pos;
-import javafx.scene.Node;
 import javafx.scene.control.Label;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.Region;
+import javafx.scene.shape.Circle;
 
 /**
- * An example of a custom control using FXML.
  * This control represents a dialog box consisting of an ImageView to represent the speaker's face and a label
  * containing text from the speaker.
+ *
+ * The control is built in code rather than loaded from FXML, so creating one does not parse any XML
+ * or inject fields by reflection.
  */
 public class DialogBox extends HBox {
-    @FXML
-    private Label dialog;
-    @FXML
-    private ImageView displayPicture;
-
-    private DialogBox(String text, Image img) {
-        try {
-            FXMLLoader fxmlLoader = new FXMLLoader(MainWindow.class.getResource("/view/DialogBox.fxml"));
-            fxmlLoader.setController(this);
-            fxmlLoader.setRoot(this);
-            fxmlLoader.load();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+    private static final double PICTURE_SIZE = 70;
 
-        dialog.setText(text);
+    private final Label dialog;
+    private final Region spacer;
+    private final ImageView displayPicture;
+    private boolean isFlipped;
+
+    DialogBox(String text, Image img) {
+        dialog = new Label(text);
+        dialog.setWrapText(true);
+        HBox.setHgrow(dialog, Priority.ALWAYS);
+
+        spacer = new Region();
+        HBox.setHgrow(spacer, Priority.NEVER);
+        HBox.setMargin(spacer, new Insets(0, 10.0, 0, 0));
+
+        displayPicture = new ImageView();
         displayPicture.setImage(img);
+        displayPicture.setFitHeight(PICTURE_SIZE);
+        displayPicture.setFitWidth(PICTURE_SIZE);
+        displayPicture.setPickOnBounds(true);
+        displayPicture.setPreserveRatio(true);
+        displayPicture.setClip(new Circle(PICTURE_SIZE / 2, PICTURE_SIZE / 2, PICTURE_SIZE / 2));
+
+        setAlignment(Pos.TOP_RIGHT);
+        setMaxWidth(Double.MAX_VALUE);
+        setPrefWidth(400.0);
+        setPadding(new Insets(15.0, 5.0, 15.0, 5.0));
+        getChildren().setAll(dialog, spacer, displayPicture);
     }
 
     /**
-     * Flips the dialog box such that the ImageView is on the left and text on the right.
+     * Flips the dialog box such that the ImageView is on the left and text on the right, or back.
      */
     private void flip() {
-        ObservableList<Node> tmp = FXCollections.observableArrayList(this.getChildren());
-        Collections.reverse(tmp);
-        getChildren().setAll(tmp);
-        setAlignment(Pos.TOP_LEFT);
+        isFlipped = !isFlipped;
+        if (isFlipped) {
+            getChildren().setAll(displayPicture, spacer, dialog);
+        } else {
+            getChildren().setAll(dialog, spacer, displayPicture);
+        }
+        setAlignment(isFlipped ? Pos.TOP_LEFT : Pos.TOP_RIGHT);
+    }
+
+    /**
+     * Reuses this dialog box to show a message from the user.
+     *
+     * @param text The text of the message.
+     * @param img The picture of the user.
+     */
+    public void showUserDialog(String text, Image img) {
+        show(text, img, false);
+    }
+
+    /**
+     * Reuses this dialog box to show a message from Duke.
+     *
+     * @param text The text of the message.
+     * @param img The picture of Duke.
+     */
+    public void showDukeDialog(String text, Image img) {
+        show(text, img, true);
+    }
+
+    private void show(String text, Image img, boolean isFromDuke) {
+        dialog.setText(text);
+        displayPicture.setImage(img);
+        if (isFlipped != isFromDuke) {
+            flip();
+        }
     }
 
     public static DialogBox getUserDialog(String text, Image img) {
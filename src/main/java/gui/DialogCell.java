@@ -0,0 +1,43 @@
+package gui;
+
+import javafx.scene.control.ListCell;
+
+/**
+ * Represents a cell of the chat transcript. The transcript only creates enough cells to fill its viewport,
+ * and each cell holds a dialog box from the factory while it shows a message, returning it when it becomes empty.
+ */
+public class DialogCell extends ListCell<Message> {
+    private final DialogFactory dialogFactory;
+    private DialogBox dialogBox;
+
+    /**
+     * Constructs a DialogCell that gets its dialog boxes from the factory.
+     *
+     * @param dialogFactory The factory of dialog boxes.
+     */
+    public DialogCell(DialogFactory dialogFactory) {
+        this.dialogFactory = dialogFactory;
+        // let the dialog box wrap its text to the width of the transcript instead of scrolling sideways
+        setPrefWidth(0);
+    }
+
+    @Override
+    protected void updateItem(Message message, boolean empty) {
+        super.updateItem(message, empty);
+        if (empty || message == null) {
+            setGraphic(null);
+            if (dialogBox != null) {
+                dialogFactory.release(dialogBox);
+                dialogBox = null;
+            }
+            return;
+        }
+
+        if (dialogBox == null) {
+            dialogBox = dialogFactory.acquire(message);
+        } else {
+            dialogFactory.show(dialogBox, message);
+        }
+        setGraphic(dialogBox);
+    }
+}
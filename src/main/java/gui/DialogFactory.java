@@ -0,0 +1,93 @@
+package gui;
+
+import javafx.scene.image.Image;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Represents a factory of dialog boxes that keeps the dialog boxes released by their users in a bounded pool,
+ * and reuses them for later messages instead of building new nodes.
+ */
+public class DialogFactory {
+    private static final int DEFAULT_POOL_CAPACITY = 64;
+    private final Image userImage;
+    private final Image dukeImage;
+    private final Deque<DialogBox> pool;
+    private final int poolCapacity;
+    private int createdCount;
+
+    /**
+     * Constructs a DialogFactory that shows messages with the given pictures of their senders.
+     *
+     * @param userImage The picture of the user.
+     * @param dukeImage The picture of Duke.
+     */
+    public DialogFactory(Image userImage, Image dukeImage) {
+        this(userImage, dukeImage, DEFAULT_POOL_CAPACITY);
+    }
+
+    /**
+     * Constructs a DialogFactory with the given capacity of its pool.
+     *
+     * @param userImage The picture of the user.
+     * @param dukeImage The picture of Duke.
+     * @param poolCapacity The maximum number of released dialog boxes kept for reuse.
+     */
+    public DialogFactory(Image userImage, Image dukeImage, int poolCapacity) {
+        this.userImage = userImage;
+        this.dukeImage = dukeImage;
+        this.pool = new ArrayDeque<>();
+        this.poolCapacity = poolCapacity;
+    }
+
+    /**
+     * Returns a dialog box showing the message, reusing a released dialog box if there is one.
+     *
+     * @param message The message to be shown.
+     * @return The dialog box showing the message.
+     */
+    public DialogBox acquire(Message message) {
+        DialogBox dialogBox = pool.poll();
+        if (dialogBox == null) {
+            dialogBox = new DialogBox("", userImage);
+            createdCount++;
+        }
+        show(dialogBox, message);
+        return dialogBox;
+    }
+
+    /**
+     * Reuses the dialog box to show another message.
+     *
+     * @param dialogBox The dialog box acquired from this factory.
+     * @param message The message to be shown.
+     */
+    public void show(DialogBox dialogBox, Message message) {
+        if (message.isFromUser()) {
+            dialogBox.showUserDialog(message.getText(), userImage);
+        } else {
+            dialogBox.showDukeDialog(message.getText(), dukeImage);
+        }
+    }
+
+    /**
+     * Returns a dialog box that is no longer shown to the pool, so that it can be reused.
+     *
+     * @param dialogBox The dialog box to be released.
+     */
+    public void release(DialogBox dialogBox) {
+        if (pool.size() < poolCapacity) {
+            pool.push(dialogBox);
+        }
+    }
+
+    /**
+     * Returns the number of dialog boxes this factory has built, rather than reused.
+     *
+     * @return The number of dialog boxes built.
+     */
+    public int getCreatedCount() {
+        return createdCount;
+    }
+}
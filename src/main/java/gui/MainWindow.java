@@ -1,23 +1,37 @@
 package gui;
 
 import duke.Duke;
+import javafx.application.Platform;
+import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
-import javafx.scene.control.ScrollPane;
+import javafx.scene.control.ListView;
 import javafx.scene.control.TextField;
 import javafx.scene.image.Image;
 import javafx.scene.layout.AnchorPane;
-import javafx.scene.layout.VBox;
-import javafx.stage.Stage;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Controller for MainWindow. Provides the layout for the other controls.
+ *
+ * The transcript is a ListView, which only lays out the messages that are visible and reuses their cells,
+ * and it keeps at most a bounded number of the latest messages, so that the window stays responsive
+ * however long the session runs.
+ *
+ * Commands are executed by Duke off the JavaFX Application Thread, and their responses are posted back to it.
+ * A command that takes longer than a moment shows a pending message until its response arrives.
  */
 public class MainWindow extends AnchorPane {
+    /** The system property that sets the maximum number of messages kept in the transcript. */
+    public static final String HISTORY_PROPERTY = "duke.history";
+    private static final int DEFAULT_HISTORY_LIMIT = 1000;
+    private static final long PENDING_DELAY_MILLIS = 200;
+    private static final String PENDING_TEXT = "Working on it...";
+
     @FXML
-    private ScrollPane scrollPane;
-    @FXML
-    private VBox dialogContainer;
+    private ListView<Message> transcript;
     @FXML
     private TextField userInput;
     @FXML
@@ -25,18 +39,22 @@ public class MainWindow extends AnchorPane {
 
     private Image userImage = new Image(this.getClass().getResourceAsStream("/images/userImg.png"));
     private Image dukeImage = new Image(this.getClass().getResourceAsStream("/images/botImg.png"));
+    private int historyLimit = Math.max(2, Integer.getInteger(HISTORY_PROPERTY, DEFAULT_HISTORY_LIMIT));
 
     private Duke duke;
+    private Runnable onExit = () -> {};
 
     @FXML
     public void initialize() {
-        scrollPane.vvalueProperty().bind(dialogContainer.heightProperty());
+        DialogFactory dialogFactory = new DialogFactory(userImage, dukeImage);
+        transcript.setCellFactory(listView -> new DialogCell(dialogFactory));
+        transcript.setFocusTraversable(false);
 
         // greet the users
         String greetings = "Hello! I'm Orion\n"
                 + "What can I do for you?\n";
 
-        dialogContainer.getChildren().add(DialogBox.getDukeDialog(greetings, dukeImage));
+        addMessages(new Message(greetings, false));
     }
 
     public void setDuke(Duke d) {
@@ -44,27 +62,74 @@ public class MainWindow extends AnchorPane {
     }
 
     /**
-     * Creates two dialog boxes, one echoing user input and the other containing Duke's reply and then appends them to
-     * the dialog container. Clears the user input after processing.
+     * Sets the action that closes the window, which is run after the response to an exit command is shown.
+     *
+     * @param onExit The action that closes the window.
+     */
+    public void setOnExit(Runnable onExit) {
+        this.onExit = onExit;
+    }
+
+    /**
+     * Adds a message echoing user input to the transcript, and submits the input to duke. Duke's reply is added
+     * once it is ready, replacing the pending message if the reply took long enough for one to be shown.
+     * Clears the user input right away, so that the next command can be typed in the meantime.
      */
     @FXML
     private void handleUserInput() {
         String input = userInput.getText();
-        String response = getResponse(input);
-        dialogContainer.getChildren().addAll(
-                DialogBox.getUserDialog(input, userImage),
-                DialogBox.getDukeDialog(response, dukeImage)
-        );
+        addMessages(new Message(input, true));
         userInput.clear();
+
+        Message pending = new Message(PENDING_TEXT, false);
+        CompletableFuture<String> response = getResponse(input);
+        CompletableFuture.delayedExecutor(PENDING_DELAY_MILLIS, TimeUnit.MILLISECONDS).execute(() ->
+                Platform.runLater(() -> {
+                    if (!response.isDone()) {
+                        addMessages(pending);
+                    }
+                }));
+        response.whenComplete((res, e) -> Platform.runLater(() ->
+                showResponse(pending, e == null ? res : "Oops!!! Something went wrong: " + e.getMessage())));
     }
 
+    /**
+     * Shows the response in place of its pending message, or at the end of the transcript if no pending message
+     * was shown, and closes the window if duke has exited.
+     */
+    private void showResponse(Message pending, String response) {
+        ObservableList<Message> items = transcript.getItems();
+        int position = items.lastIndexOf(pending);
+        if (position >= 0) {
+            items.set(position, new Message(response, false));
+        } else {
+            addMessages(new Message(response, false));
+        }
+
+        if (duke.isExited()) {
+            onExit.run();
+        }
+    }
+
+    /**
+     * Appends the messages to the transcript, dropping the oldest messages beyond the history limit,
+     * and scrolls to the latest message.
+     */
+    private void addMessages(Message... messages) {
+        ObservableList<Message> items = transcript.getItems();
+        items.addAll(messages);
+        if (items.size() > historyLimit) {
+            items.remove(0, items.size() - historyLimit);
+        }
+        transcript.scrollTo(items.size() - 1);
+    }
 
     /**
-     * Executes the input command using duke.
+     * Executes the input command using duke, off the JavaFX Application Thread.
      *
-     * @return The response message by duke.
+     * @return The future response message by duke.
      */
-    private String getResponse(String input) {
-        return duke.execute(input);
+    private CompletableFuture<String> getResponse(String input) {
+        return duke.executeAsync(input);
     }
 }
@@ -0,0 +1,28 @@
+package gui;
+
+/**
+ * Represents a message in the chat transcript, sent either by the user or by Duke.
+ */
+public class Message {
+    private final String text;
+    private final boolean isFromUser;
+
+    /**
+     * Constructs a Message.
+     *
+     * @param text The text of the message.
+     * @param isFromUser Whether the message is sent by the user, rather than by Duke.
+     */
+    public Message(String text, boolean isFromUser) {
+        this.text = text;
+        this.isFromUser = isFromUser;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public boolean isFromUser() {
+        return isFromUser;
+    }
+}
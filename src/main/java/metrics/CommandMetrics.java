@@ -0,0 +1,85 @@
+package metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Represents the metrics of one type of command. The time taken by a command is split into parsing it,
+ * executing it apart from saving to the disk, and saving to the disk.
+ */
+public class CommandMetrics implements CommandMetricsMXBean {
+    private final String name;
+    private final LongAdder count;
+    private final LongAdder errorCount;
+    private final LatencyHistogram parseLatency;
+    private final LatencyHistogram executeLatency;
+    private final LatencyHistogram saveLatency;
+
+    CommandMetrics(String name) {
+        this.name = name;
+        this.count = new LongAdder();
+        this.errorCount = new LongAdder();
+        this.parseLatency = new LatencyHistogram();
+        this.executeLatency = new LatencyHistogram();
+        this.saveLatency = new LatencyHistogram();
+    }
+
+    /**
+     * Records a command of this type.
+     *
+     * @param parseNanos The time taken to parse the command.
+     * @param executeNanos The time taken to execute the command, apart from saving to the disk.
+     * @param saveNanos The time taken to save to the disk, or 0 if nothing was saved.
+     * @param isError Whether the command failed.
+     */
+    void record(long parseNanos, long executeNanos, long saveNanos, boolean isError) {
+        count.increment();
+        if (isError) {
+            errorCount.increment();
+        }
+        parseLatency.record(parseNanos);
+        executeLatency.record(executeNanos);
+        if (saveNanos > 0) {
+            saveLatency.record(saveNanos);
+        }
+    }
+
+    /**
+     * Records a command of this type that could not be parsed, and so was never executed.
+     *
+     * @param parseNanos The time taken to parse the command.
+     */
+    void recordInvalid(long parseNanos) {
+        count.increment();
+        errorCount.increment();
+        parseLatency.record(parseNanos);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+
+    @Override
+    public long getErrorCount() {
+        return errorCount.sum();
+    }
+
+    @Override
+    public LatencySnapshot getParseLatency() {
+        return parseLatency.snapshot();
+    }
+
+    @Override
+    public LatencySnapshot getExecuteLatency() {
+        return executeLatency.snapshot();
+    }
+
+    @Override
+    public LatencySnapshot getSaveLatency() {
+        return saveLatency.snapshot();
+    }
+}
@@ -0,0 +1,17 @@
+package metrics;
+
+/**
+ * Represents the management interface of the metrics of one type of command, registered under
+ * {@code duke:type=Command,name=<command>}.
+ */
+public interface CommandMetricsMXBean {
+    long getCount();
+
+    long getErrorCount();
+
+    LatencySnapshot getParseLatency();
+
+    LatencySnapshot getExecuteLatency();
+
+    LatencySnapshot getSaveLatency();
+}
@@ -0,0 +1,100 @@
+package metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Represents a histogram of latencies in nanoseconds, in the style of an HDR histogram. Every power of two
+ * is split into 32 buckets of equal width, so a latency is kept to within about 3% of its value, from
+ * nanoseconds to centuries, in a fixed array of counts.
+ *
+ * Recording takes a few atomic increments without any lock, so it may be called from several threads at once
+ * and on the path of every command. Reading the histogram while it is being recorded to may miss the latest
+ * latencies, but never sees a broken histogram.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+    private final AtomicLongArray counts;
+    private final LongAdder total;
+    private final LongAccumulator max;
+
+    /** Constructs an empty LatencyHistogram. */
+    public LatencyHistogram() {
+        this.counts = new AtomicLongArray(BUCKET_COUNT);
+        this.total = new LongAdder();
+        this.max = new LongAccumulator(Math::max, 0);
+    }
+
+    /**
+     * Records a latency.
+     *
+     * @param nanos The latency in nanoseconds, where a negative latency is taken as 0.
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(bucketOf(value));
+        total.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * Returns the bucket of the value. Values below 32 have a bucket each, and every larger value is put in a bucket
+     * by its 6 most significant bits, counted from the highest bit that is set.
+     */
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKET_COUNT;
+        return (shift + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    /**
+     * Returns the highest value that is put in the bucket.
+     */
+    static long highestValueOf(int bucket) {
+        if (bucket < SUB_BUCKET_COUNT) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKET_COUNT - 1;
+        long lowest = (long) (bucket % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    /**
+     * Takes a snapshot of the latencies recorded so far.
+     *
+     * @return The summary of the latencies.
+     */
+    public LatencySnapshot snapshot() {
+        long[] snapshot = new long[BUCKET_COUNT];
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; ++i) {
+            snapshot[i] = counts.get(i);
+            count += snapshot[i];
+        }
+        long maxNanos = max.get();
+        return new LatencySnapshot(count, count == 0 ? 0 : total.sum() / count,
+                percentile(snapshot, count, 0.5, maxNanos), percentile(snapshot, count, 0.9, maxNanos),
+                percentile(snapshot, count, 0.99, maxNanos), maxNanos);
+    }
+
+    /**
+     * Finds the highest value of the bucket the percentile falls in, which is no more than the maximum.
+     */
+    private static long percentile(long[] counts, long count, double fraction, long maxNanos) {
+        long rank = (long) Math.ceil(fraction * count);
+        long seen = 0;
+        for (int i = 0; i < counts.length; ++i) {
+            seen += counts[i];
+            if (seen >= rank && seen > 0) {
+                return Math.min(highestValueOf(i), maxNanos);
+            }
+        }
+        return 0;
+    }
+}
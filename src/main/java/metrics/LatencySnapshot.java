@@ -0,0 +1,78 @@
+package metrics;
+
+/**
+ * Represents a summary of the latencies recorded by a histogram at one moment, in nanoseconds.
+ */
+public class LatencySnapshot {
+    private final long count;
+    private final long meanNanos;
+    private final long p50Nanos;
+    private final long p90Nanos;
+    private final long p99Nanos;
+    private final long maxNanos;
+
+    /**
+     * Constructs a LatencySnapshot.
+     *
+     * @param count The number of latencies recorded.
+     * @param meanNanos The mean latency.
+     * @param p50Nanos The median latency.
+     * @param p90Nanos The 90th percentile of the latencies.
+     * @param p99Nanos The 99th percentile of the latencies.
+     * @param maxNanos The highest latency.
+     */
+    public LatencySnapshot(long count, long meanNanos, long p50Nanos, long p90Nanos, long p99Nanos, long maxNanos) {
+        this.count = count;
+        this.meanNanos = meanNanos;
+        this.p50Nanos = p50Nanos;
+        this.p90Nanos = p90Nanos;
+        this.p99Nanos = p99Nanos;
+        this.maxNanos = maxNanos;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getMeanNanos() {
+        return meanNanos;
+    }
+
+    public long getP50Nanos() {
+        return p50Nanos;
+    }
+
+    public long getP90Nanos() {
+        return p90Nanos;
+    }
+
+    public long getP99Nanos() {
+        return p99Nanos;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    /**
+     * Formats a latency in the largest unit that keeps it at least 1.
+     *
+     * @param nanos The latency in nanoseconds.
+     * @return The formatted latency, e.g. "1.25 ms".
+     */
+    public static String format(long nanos) {
+        if (nanos < 1_000) {
+            return nanos + " ns";
+        } else if (nanos < 1_000_000) {
+            return String.format("%.2f us", nanos / 1e3);
+        } else if (nanos < 1_000_000_000) {
+            return String.format("%.2f ms", nanos / 1e6);
+        }
+        return String.format("%.2f s", nanos / 1e9);
+    }
+
+    @Override
+    public String toString() {
+        return "p50 " + format(p50Nanos) + ", p99 " + format(p99Nanos) + ", max " + format(maxNanos);
+    }
+}
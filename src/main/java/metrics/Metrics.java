@@ -0,0 +1,219 @@
+package metrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * Represents the metrics of a Duke instance: the number and latency of every type of command,
+ * the writes to and reads from the disk, and the number of tasks in the list.
+ *
+ * The time taken to parse a command and the time it spends saving to the disk are collected on the thread
+ * executing the command, between beginCommand and endCommand, so that saving can be told apart from the rest
+ * of the command without passing the command to the disk manager. Writes made by a background writer are counted
+ * in the write latency and bytes written, but not in the save latency of any command.
+ *
+ * Once registered, the metrics can also be read through JMX, under {@code duke:type=Metrics} and
+ * {@code duke:type=Command,name=<command>}.
+ */
+public class Metrics implements MetricsMXBean {
+    private static final String DOMAIN = "duke";
+    private static final String INVALID_COMMAND = "invalid";
+    private final Map<String, CommandMetrics> commands;
+    private final LongAdder bytesWritten;
+    private final LongAdder bytesRead;
+    private final LatencyHistogram writeLatency;
+    // the time taken to parse the current command and to save it, on each thread
+    private final ThreadLocal<long[]> phaseNanos;
+    private volatile IntSupplier taskCount;
+    private volatile MBeanServer server;
+
+    /** Constructs an empty Metrics. */
+    public Metrics() {
+        this.commands = new ConcurrentHashMap<>();
+        this.bytesWritten = new LongAdder();
+        this.bytesRead = new LongAdder();
+        this.writeLatency = new LatencyHistogram();
+        this.phaseNanos = ThreadLocal.withInitial(() -> new long[2]);
+        this.taskCount = () -> 0;
+    }
+
+    /**
+     * Sets where the number of tasks in the list is read from.
+     *
+     * @param taskCount The supplier of the number of tasks.
+     */
+    public void setTaskCount(IntSupplier taskCount) {
+        this.taskCount = taskCount;
+    }
+
+    /**
+     * Registers the metrics with the platform MBean server, unless metrics of another instance are registered
+     * already, which are then left in place.
+     *
+     * @return True if the metrics were registered.
+     */
+    public boolean registerMBeans() {
+        MBeanServer platformServer = ManagementFactory.getPlatformMBeanServer();
+        try {
+            platformServer.registerMBean(this, new ObjectName(DOMAIN + ":type=Metrics"));
+        } catch (JMException e) {
+            return false;
+        }
+        server = platformServer;
+        for (CommandMetrics command : commands.values()) {
+            register(command);
+        }
+        return true;
+    }
+
+    private void register(CommandMetrics command) {
+        MBeanServer currentServer = server;
+        if (currentServer == null) {
+            return;
+        }
+        try {
+            ObjectName name = new ObjectName(DOMAIN + ":type=Command,name=" + ObjectName.quote(command.getName()));
+            if (!currentServer.isRegistered(name)) {
+                currentServer.registerMBean(command, name);
+            }
+        } catch (JMException e) {
+            // the metrics can still be read through the stats command
+        }
+    }
+
+    /**
+     * Returns the metrics of the type of command, creating them on the first command of the type.
+     *
+     * @param name The name of the type of command.
+     * @return The metrics of the type of command.
+     */
+    public CommandMetrics forCommand(String name) {
+        CommandMetrics command = commands.get(name);
+        if (command != null) {
+            return command;
+        }
+        command = commands.computeIfAbsent(name, CommandMetrics::new);
+        register(command);
+        return command;
+    }
+
+    /**
+     * Returns the metrics of every type of command seen so far, in order of their names.
+     *
+     * @return The metrics of the types of command.
+     */
+    public List<CommandMetrics> getCommands() {
+        List<CommandMetrics> result = new ArrayList<>(commands.values());
+        result.sort(Comparator.comparing(CommandMetrics::getName));
+        return result;
+    }
+
+    /**
+     * Starts collecting the time the calling thread spends on a command.
+     */
+    public void beginCommand() {
+        long[] phases = phaseNanos.get();
+        phases[0] = 0;
+        phases[1] = 0;
+    }
+
+    /**
+     * Records the time taken by the calling thread to parse the command it is about to execute.
+     *
+     * @param nanos The time taken to parse.
+     */
+    public void recordParse(long nanos) {
+        phaseNanos.get()[0] = nanos;
+    }
+
+    /**
+     * Records a command that could not be parsed.
+     *
+     * @param nanos The time taken to parse.
+     */
+    public void recordInvalidCommand(long nanos) {
+        forCommand(INVALID_COMMAND).recordInvalid(nanos);
+    }
+
+    /**
+     * Records a save to the disk made on the calling thread, which counts towards the command being executed on it.
+     *
+     * @param nanos The time taken to save.
+     */
+    public void recordSave(long nanos) {
+        phaseNanos.get()[1] += nanos;
+    }
+
+    /**
+     * Records a command executed by the calling thread, with the time taken to parse it and to save it
+     * collected since beginCommand.
+     *
+     * @param name The name of the type of command.
+     * @param executeNanos The time taken to execute the command, including saving to the disk.
+     * @param isError Whether the command failed.
+     */
+    public void endCommand(String name, long executeNanos, boolean isError) {
+        long[] phases = phaseNanos.get();
+        forCommand(name).record(phases[0], executeNanos - phases[1], phases[1], isError);
+        phases[0] = 0;
+        phases[1] = 0;
+    }
+
+    /**
+     * Records a write to the disk.
+     *
+     * @param bytes The number of bytes written.
+     * @param nanos The time taken to write them.
+     */
+    public void recordWrite(long bytes, long nanos) {
+        bytesWritten.add(bytes);
+        writeLatency.record(nanos);
+    }
+
+    /**
+     * Records a read from the disk.
+     *
+     * @param bytes The number of bytes read.
+     */
+    public void recordRead(long bytes) {
+        bytesRead.add(bytes);
+    }
+
+    @Override
+    public int getTaskCount() {
+        return taskCount.getAsInt();
+    }
+
+    @Override
+    public long getCommandCount() {
+        long count = 0;
+        for (CommandMetrics command : commands.values()) {
+            count += command.getCount();
+        }
+        return count;
+    }
+
+    @Override
+    public long getBytesWritten() {
+        return bytesWritten.sum();
+    }
+
+    @Override
+    public long getBytesRead() {
+        return bytesRead.sum();
+    }
+
+    @Override
+    public LatencySnapshot getWriteLatency() {
+        return writeLatency.snapshot();
+    }
+}
@@ -0,0 +1,16 @@
+package metrics;
+
+/**
+ * Represents the management interface of the metrics of Duke, registered under {@code duke:type=Metrics}.
+ */
+public interface MetricsMXBean {
+    int getTaskCount();
+
+    long getCommandCount();
+
+    long getBytesWritten();
+
+    long getBytesRead();
+
+    LatencySnapshot getWriteLatency();
+}
@@ -0,0 +1,135 @@
+package storage;
+
+import duke.DukeException;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Represents a writer that performs pending writes on a background thread once per interval,
+ * so that a burst of changes is written to the disk with a single write.
+ */
+public class BackgroundWriter {
+    /**
+     * Represents the write performed by the background writer.
+     */
+    public interface WriteAction {
+        /**
+         * Writes every change made since the last write to the disk.
+         *
+         * @throws DukeException If the changes could not be written.
+         */
+        void write() throws DukeException;
+    }
+
+    private final WriteAction action;
+    private final ScheduledExecutorService executor;
+    private final Object writeLock = new Object();
+    private long requested;
+    private long written;
+    private long failed;
+    private DukeException failure;
+
+    /**
+     * Constructs a BackgroundWriter that performs the write action once per interval
+     * whenever a write was requested.
+     *
+     * @param action The write action.
+     * @param intervalMillis The interval between two writes in milliseconds.
+     */
+    public BackgroundWriter(WriteAction action, long intervalMillis) {
+        assert action != null : "action of background writer should not be null";
+        assert intervalMillis > 0 : "interval of background writer should be positive";
+
+        this.action = action;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "duke-background-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.scheduleWithFixedDelay(this::writeIfRequested, intervalMillis, intervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Requests a write that will be performed at the next interval.
+     *
+     * @return The ticket of the request, which can be used to wait for the write.
+     */
+    public synchronized long requestWrite() {
+        return ++requested;
+    }
+
+    /**
+     * Waits until the write that covers the request with the given ticket is done.
+     *
+     * @param ticket The ticket returned by requestWrite.
+     * @throws DukeException If the write failed.
+     */
+    public synchronized void awaitWrite(long ticket) throws DukeException {
+        while (written < ticket) {
+            if (failed >= ticket) {
+                throw failure;
+            }
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new DukeException("Interrupted when writing to local disk.");
+            }
+        }
+    }
+
+    /**
+     * Performs any pending write on the calling thread and waits for it to finish.
+     *
+     * @throws DukeException If the write failed.
+     */
+    public void flush() throws DukeException {
+        long ticket;
+        synchronized (this) {
+            ticket = requested;
+        }
+        writeIfRequested();
+        awaitWrite(ticket);
+    }
+
+    /**
+     * Performs any pending write and stops the background thread.
+     *
+     * @throws DukeException If the pending write failed.
+     */
+    public void close() throws DukeException {
+        executor.shutdown();
+        flush();
+    }
+
+    private void writeIfRequested() {
+        synchronized (writeLock) {
+            long target;
+            synchronized (this) {
+                if (written >= requested) {
+                    return;
+                }
+                target = requested;
+            }
+
+            try {
+                action.write();
+                synchronized (this) {
+                    written = target;
+                    notifyAll();
+                }
+            } catch (DukeException e) {
+                // the write is retried at the next interval, while waiting commands are told of the failure
+                System.out.println(e.getMessage());
+                synchronized (this) {
+                    failed = target;
+                    failure = e;
+                    notifyAll();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package storage;
+
+import duke.DukeException;
+import task.Deadline;
+import task.Event;
+import task.Task;
+import task.Todo;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Represents a compact binary storage format.
+ *
+ * The file starts with the magic bytes "DUKB", a version byte and the number of tasks.
+ * Each task is stored as a header byte holding the type tag in its lowest two bits and the done
+ * status in its highest bit, the varint length of the UTF-8 description followed by the description,
+ * and the dates of deadlines and events as epoch days.
+ * Since version 2, the tasks are followed by an index holding the offset of each task,
+ * and the file ends with the offset of the index, so that any task can be read without the others.
+ * Since version 3, the offset of the index is followed by the CRC32 checksum of every byte before it,
+ * computed while the file is written, so that the checksum of the file is known without reading all of it.
+ * Since version 4, the epoch days are stored as longs rather than ints, so that every date LocalDate supports
+ * is stored as it is.
+ */
+public class BinaryCodec implements StorageCodec {
+    static final byte[] MAGIC = {'D', 'U', 'K', 'B'};
+    static final int VERSION_WITHOUT_INDEX = 1;
+    static final int VERSION_WITHOUT_CHECKSUM = 2;
+    static final int VERSION_WITH_INT_DAYS = 3;
+    static final int VERSION = 4;
+    static final int HEADER_LENGTH = 9;
+    static final int FOOTER_LENGTH = 16;
+    static final int TAG_TODO = 0;
+    static final int TAG_DEADLINE = 1;
+    static final int TAG_EVENT = 2;
+    static final int TAG_MASK = 0x03;
+    static final int DONE_BIT = 0x80;
+
+    @Override
+    public boolean canDecode(byte[] header, int length) {
+        if (length < MAGIC.length) {
+            return false;
+        }
+        for (int i = 0; i < MAGIC.length; ++i) {
+            if (header[i] != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void encode(List<Task> tasks, OutputStream out) throws IOException {
+        CRC32 crc = new CRC32();
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(new CheckedOutputStream(out, crc)));
+        data.write(MAGIC);
+        data.writeByte(VERSION);
+        data.writeInt(tasks.size());
+
+        long position = HEADER_LENGTH;
+        long[] offsets = new long[tasks.size()];
+        int i = 0;
+        for (Task task : tasks) {
+            offsets[i++] = position;
+            position += writeTask(task, data);
+        }
+        for (long offset : offsets) {
+            data.writeLong(offset);
+        }
+        data.writeLong(position);
+        data.flush();
+        data.writeLong(crc.getValue());
+        data.flush();
+    }
+
+    /**
+     * Reads the checksum stored at the end of a file in the binary format, without reading the rest of the file.
+     *
+     * @param file The file.
+     * @return The checksum, or null if the file is not in a version of the format that stores it.
+     * @throws IOException If the file could not be read.
+     */
+    public static Long readChecksum(File file) throws IOException {
+        try (RandomAccessFile in = new RandomAccessFile(file, "r")) {
+            long length = in.length();
+            if (length < HEADER_LENGTH + FOOTER_LENGTH) {
+                return null;
+            }
+            byte[] header = new byte[MAGIC.length + 1];
+            in.readFully(header);
+            in.seek(length - Long.BYTES);
+            return readChecksum(header, in.readLong());
+        }
+    }
+
+    /**
+     * Reads the checksum stored at the end of the data in the binary format.
+     *
+     * @param data The content of a file.
+     * @return The checksum, or null if the data is not in a version of the format that stores it.
+     */
+    public static Long readChecksum(ByteBuffer data) {
+        if (data.limit() < HEADER_LENGTH + FOOTER_LENGTH) {
+            return null;
+        }
+        byte[] header = new byte[MAGIC.length + 1];
+        data.get(0, header);
+        return readChecksum(header, data.getLong(data.limit() - Long.BYTES));
+    }
+
+    private static Long readChecksum(byte[] header, long checksum) {
+        for (int i = 0; i < MAGIC.length; ++i) {
+            if (header[i] != MAGIC[i]) {
+                return null;
+            }
+        }
+        int version = header[MAGIC.length];
+        return version == VERSION || version == VERSION_WITH_INT_DAYS ? checksum : null;
+    }
+
+    @Override
+    public List<Task> decode(InputStream in) throws IOException, DukeException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+        try {
+            byte[] magic = new byte[MAGIC.length];
+            data.readFully(magic);
+            int version = canDecode(magic, magic.length) ? data.readUnsignedByte() : -1;
+            if (version < VERSION_WITHOUT_INDEX || version > VERSION) {
+                throw new DukeException("Error when deserializing file");
+            }
+
+            int count = data.readInt();
+            if (count < 0) {
+                throw new DukeException("Error when deserializing file");
+            }
+            List<Task> tasks = new ArrayList<>(count);
+            for (int i = 0; i < count; ++i) {
+                tasks.add(readTask(data, version));
+            }
+            return tasks;
+        } catch (EOFException e) {
+            throw new DukeException("Error when deserializing file");
+        }
+    }
+
+    /**
+     * Writes a single task as its header byte, description and dates.
+     *
+     * @return The number of bytes written.
+     */
+    static int writeTask(Task task, DataOutputStream data) throws IOException {
+        int start = data.size();
+        int header = task.getIsDone() ? DONE_BIT : 0;
+        if (task instanceof Deadline) {
+            header |= TAG_DEADLINE;
+        } else if (task instanceof Event) {
+            header |= TAG_EVENT;
+        } else {
+            header |= TAG_TODO;
+        }
+        data.writeByte(header);
+
+        byte[] description = task.getDescription().getBytes(StandardCharsets.UTF_8);
+        writeVarint(description.length, data);
+        data.write(description);
+
+        if (task instanceof Deadline) {
+            data.writeLong(((Deadline) task).getDeadline().toEpochDay());
+        } else if (task instanceof Event) {
+            data.writeLong(((Event) task).getStart().toEpochDay());
+            data.writeLong(((Event) task).getEnd().toEpochDay());
+        }
+        return data.size() - start;
+    }
+
+    /**
+     * Reads a single task written by writeTask.
+     */
+    static Task readTask(DataInputStream data, int version) throws IOException, DukeException {
+        int header = data.readUnsignedByte();
+        int length = readVarint(data);
+        if (length < 0) {
+            throw new DukeException("Error when deserializing file");
+        }
+        byte[] bytes = new byte[length];
+        data.readFully(bytes);
+        String description = new String(bytes, StandardCharsets.UTF_8);
+
+        Task task;
+        switch (header & TAG_MASK) {
+            case TAG_TODO:
+                task = new Todo(description);
+                break;
+            case TAG_DEADLINE:
+                task = new Deadline(description, readDate(data, version));
+                break;
+            case TAG_EVENT:
+                LocalDate start = readDate(data, version);
+                task = new Event(description, start, readDate(data, version));
+                break;
+            default:
+                throw new DukeException("Error when deserializing file");
+        }
+        task.markTask((header & DONE_BIT) != 0);
+        return task;
+    }
+
+    /**
+     * Reads a date stored as its epoch day, which is an int before version 4.
+     */
+    private static LocalDate readDate(DataInputStream data, int version) throws IOException, DukeException {
+        long epochDay = version <= VERSION_WITH_INT_DAYS ? data.readInt() : data.readLong();
+        try {
+            return LocalDate.ofEpochDay(epochDay);
+        } catch (DateTimeException e) {
+            throw new DukeException("Error when deserializing file");
+        }
+    }
+
+    private static void writeVarint(int value, DataOutputStream data) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            data.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data.writeByte(value);
+    }
+
+    private static int readVarint(DataInputStream data) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = data.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,159 @@
+package storage;
+
+import task.Task;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Represents a file next to the storage file holding the done status of the tasks in the storage file
+ * that were marked or unmarked since it was written, so that marking a task only writes a few bytes in place
+ * instead of the whole storage file.
+ *
+ * The file starts with the magic bytes "DUKD", the checksum of the storage file it is based on and the number
+ * of tasks in it, followed by two bytes for every eight tasks. The first byte has the bit of a task set if the task
+ * was marked or unmarked, and the second byte has it set if the task is done. Marking a task rewrites only the two
+ * bytes of its group, with a single positional write.
+ *
+ * The bitmap only applies to the storage file with the checksum it is based on, so a bitmap left behind by an
+ * older storage file is ignored, and writing a new storage file makes the bitmap obsolete.
+ */
+public class DoneBitmap {
+    static final byte[] MAGIC = {'D', 'U', 'K', 'D'};
+    static final int HEADER_LENGTH = 16;
+    private static final int TASKS_PER_GROUP = 8;
+    private static final int GROUP_LENGTH = 2;
+    private final File file;
+    private Long checksum;
+    private byte[] groups;
+
+    /**
+     * Constructs a DoneBitmap stored in the file, which is only created once a task is marked.
+     *
+     * @param file The file of the bitmap.
+     */
+    public DoneBitmap(File file) {
+        assert file != null : "file of done bitmap should not be null";
+        this.file = file;
+    }
+
+    /**
+     * Applies the done status in the bitmap to the tasks loaded from the storage file,
+     * if the bitmap is based on that storage file. Only the tasks that were marked are accessed.
+     *
+     * @param tasks The tasks loaded from the storage file.
+     * @param checksum The checksum of the storage file.
+     * @return True if the bitmap was applied, false if there is no bitmap based on the storage file.
+     * @throws IOException If the bitmap could not be read.
+     */
+    public boolean apply(List<Task> tasks, long checksum) throws IOException {
+        this.checksum = null;
+        this.groups = null;
+        if (!file.exists() || file.length() != HEADER_LENGTH + groupsLength(tasks.size())) {
+            return false;
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+        for (byte b : MAGIC) {
+            if (buffer.get() != b) {
+                return false;
+            }
+        }
+        if (buffer.getLong() != checksum || buffer.getInt() != tasks.size()) {
+            return false;
+        }
+
+        byte[] bitmap = new byte[buffer.remaining()];
+        buffer.get(bitmap);
+        for (int group = 0; group < bitmap.length / GROUP_LENGTH; ++group) {
+            int marked = bitmap[group * GROUP_LENGTH] & 0xFF;
+            int done = bitmap[group * GROUP_LENGTH + 1] & 0xFF;
+            for (int bit = 0; bit < TASKS_PER_GROUP; ++bit) {
+                if ((marked & 1 << bit) != 0) {
+                    tasks.get(group * TASKS_PER_GROUP + bit).setDone((done & 1 << bit) != 0);
+                }
+            }
+        }
+        this.checksum = checksum;
+        this.groups = bitmap;
+        return true;
+    }
+
+    /**
+     * Records the done status of the tasks in the bitmap based on the storage file, writing only the groups
+     * of the tasks, creating the bitmap first if it is not based on the storage file yet.
+     *
+     * @param checksum The checksum of the storage file.
+     * @param count The number of tasks in the storage file.
+     * @param indices The indices(1-indexed) of the tasks in the storage file, in ascending order.
+     * @param done Whether the tasks are done.
+     * @param isForced Whether to force the write to the disk before returning.
+     * @return The number of bytes written.
+     * @throws IOException If the bitmap could not be written.
+     */
+    public long patch(long checksum, int count, int[] indices, boolean done, boolean isForced)
+            throws IOException {
+        long written = 0;
+        if (groups == null || this.checksum != checksum) {
+            written += create(checksum, count);
+        }
+        if (indices.length == 0) {
+            return written;
+        }
+
+        for (int i : indices) {
+            assert i >= 1 && i <= count : "marked task should be in the storage file";
+            int group = (i - 1) / TASKS_PER_GROUP;
+            int bit = 1 << (i - 1) % TASKS_PER_GROUP;
+            groups[group * GROUP_LENGTH] |= bit;
+            groups[group * GROUP_LENGTH + 1] = (byte) (done
+                    ? groups[group * GROUP_LENGTH + 1] | bit
+                    : groups[group * GROUP_LENGTH + 1] & ~bit);
+        }
+
+        // the groups in between are rewritten unchanged, so that the write stays a single one
+        int from = (indices[0] - 1) / TASKS_PER_GROUP * GROUP_LENGTH;
+        int to = ((indices[indices.length - 1] - 1) / TASKS_PER_GROUP + 1) * GROUP_LENGTH;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.wrap(groups, from, to - from);
+            long position = HEADER_LENGTH + from;
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            if (isForced) {
+                channel.force(false);
+            }
+        }
+        return written + to - from;
+    }
+
+    /**
+     * Deletes the bitmap, once a storage file holding the done status of every task was written.
+     *
+     * @throws IOException If the bitmap could not be deleted.
+     */
+    public void delete() throws IOException {
+        checksum = null;
+        groups = null;
+        Files.deleteIfExists(file.toPath());
+    }
+
+    private long create(long checksum, int count) throws IOException {
+        byte[] bitmap = new byte[groupsLength(count)];
+        ByteBuffer data = ByteBuffer.allocate(HEADER_LENGTH + bitmap.length);
+        data.put(MAGIC).putLong(checksum).putInt(count).put(bitmap);
+        new SnapshotWriter(file).write(data.array());
+        this.checksum = checksum;
+        this.groups = bitmap;
+        return data.capacity();
+    }
+
+    private static int groupsLength(int count) {
+        return (count + TASKS_PER_GROUP - 1) / TASKS_PER_GROUP * GROUP_LENGTH;
+    }
+}
@@ -0,0 +1,19 @@
+package storage;
+
+/**
+ * Represents how soon a change is written to the disk after it is made.
+ */
+public enum Durability {
+    /** Every change is written to the disk before the command returns. */
+    SYNC,
+    /**
+     * Changes are written together by a background writer once per interval,
+     * and the command waits for the write that includes its change.
+     */
+    BATCHED,
+    /**
+     * Changes are written together by a background writer once per interval,
+     * and the command returns without waiting. Changes made since the last write are lost on a crash.
+     */
+    ASYNC
+}
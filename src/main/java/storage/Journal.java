@@ -0,0 +1,205 @@
+package storage;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import duke.DukeException;
+import duke.TaskManager;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Represents an append-only journal that records every mutation of the task list as one line,
+ * so that saving a mutation does not require rewriting the whole snapshot.
+ *
+ * The first line of the journal records the checksum of the snapshot it is based on,
+ * a journal whose checksum does not match the snapshot on disk is stale and will not be replayed.
+ */
+public class Journal {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    static {
+        MAPPER.registerModule(new JavaTimeModule());
+    }
+    private File file;
+    private SnapshotWriter resetWriter;
+    private int size;
+    private boolean hasTornEntry;
+    private int lowestChangedIndex;
+
+    /**
+     * Constructs a Journal that appends to the given file.
+     *
+     * @param file The journal file.
+     */
+    public Journal(File file) {
+        this.file = file;
+        this.resetWriter = new SnapshotWriter(file);
+        this.size = 0;
+        this.lowestChangedIndex = Integer.MAX_VALUE;
+
+        assert this.file != null : "file of journal should not be null";
+    }
+
+    /**
+     * Returns the number of entries recorded since the journal was last reset.
+     *
+     * @return The number of entries in the journal.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether the last replay dropped an entry that was only partially written.
+     * Such a journal should be compacted before anything else is appended to it.
+     *
+     * @return True if a torn entry was dropped.
+     */
+    public boolean hasTornEntry() {
+        return hasTornEntry;
+    }
+
+    /**
+     * Returns the lowest index of the tasks changed or moved by the entries of the last replay, so that
+     * the tasks before it are still where they are in the snapshot, with the done status they have there.
+     *
+     * @return The lowest index(1-indexed), or Integer.MAX_VALUE if no task of the snapshot was changed.
+     */
+    public int getLowestChangedIndex() {
+        return lowestChangedIndex;
+    }
+
+    /**
+     * Encodes an entry into the line that will be appended to the journal.
+     *
+     * @param entry The entry to be encoded.
+     * @return The encoded line.
+     * @throws IOException If the entry could not be encoded.
+     */
+    public byte[] encode(JournalEntry entry) throws IOException {
+        return (MAPPER.writeValueAsString(entry) + "\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Appends an entry to the end of the journal.
+     *
+     * @param entry The entry to be appended.
+     * @throws IOException If the entry could not be written to the journal.
+     */
+    public void append(JournalEntry entry) throws IOException {
+        appendAll(List.of(encode(entry)));
+    }
+
+    /**
+     * Appends the encoded entries to the end of the journal with a single write,
+     * and forces them to the disk.
+     *
+     * @param lines The entries encoded by encode.
+     * @throws IOException If the entries could not be written to the journal.
+     */
+    public void appendAll(List<byte[]> lines) throws IOException {
+        if (lines.isEmpty()) {
+            return;
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] line : lines) {
+            out.write(line);
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+        size += lines.size();
+    }
+
+    /**
+     * Discards all entries and starts a new journal based on the snapshot with the given checksum.
+     *
+     * @param checksum The checksum of the snapshot the new journal is based on.
+     * @throws IOException If the journal could not be written.
+     */
+    public void reset(long checksum) throws IOException {
+        resetWriter.write(encode(JournalEntry.base(checksum)));
+        size = 0;
+        hasTornEntry = false;
+        lowestChangedIndex = Integer.MAX_VALUE;
+    }
+
+    /**
+     * Replays the entries in the journal on the task manager.
+     *
+     * @param taskManager The task manager loaded from the snapshot.
+     * @param checksum The checksum of the snapshot the task manager was loaded from.
+     * @return True if the journal is based on the snapshot and was replayed,
+     *     false if the journal is missing or stale.
+     * @throws DukeException If the journal is corrupted.
+     */
+    public boolean replay(TaskManager taskManager, long checksum) throws DukeException {
+        try {
+            resetWriter.recover();
+        } catch (IOException e) {
+            throw new DukeException("Error when reading journal");
+        }
+        if (!file.exists()) {
+            return false;
+        }
+
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+            if (line == null || !isBasedOn(line, checksum)) {
+                return false;
+            }
+
+            int count = 0;
+            String next = reader.readLine();
+            while (next != null) {
+                line = next;
+                next = reader.readLine();
+                JournalEntry entry;
+                try {
+                    entry = MAPPER.readValue(line, JournalEntry.class);
+                } catch (JsonProcessingException e) {
+                    if (next == null) {
+                        // the last entry was torn by a crash while appending, drop it
+                        hasTornEntry = true;
+                        break;
+                    }
+                    throw e;
+                }
+                entry.apply(taskManager);
+                lowestChangedIndex = Math.min(lowestChangedIndex, entry.lowestIndex());
+                count++;
+            }
+            size = count;
+            return true;
+        } catch (JsonProcessingException e) {
+            throw new DukeException("Error when replaying journal");
+        } catch (IOException e) {
+            throw new DukeException("Error when reading journal");
+        }
+    }
+
+    private static boolean isBasedOn(String header, long checksum) {
+        try {
+            JournalEntry base = MAPPER.readValue(header, JournalEntry.class);
+            return JournalEntry.OP_BASE.equals(base.getOp()) && base.getChecksum() != null
+                    && base.getChecksum() == checksum;
+        } catch (JsonProcessingException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package storage;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import duke.Change;
+import duke.DukeException;
+import duke.TaskManager;
+import task.Task;
+
+/**
+ * Represents a single record in the journal, describing one mutation of the task list.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class JournalEntry {
+    static final String OP_BASE = "base";
+    static final String OP_ADD = "add";
+    static final String OP_MARK = "mark";
+    static final String OP_DELETE = "delete";
+    static final String OP_INSERT = "insert";
+
+    private String op;
+    private Integer index;
+    private int[] indices;
+    private Boolean done;
+    private Long checksum;
+    private Task task;
+    private Task[] tasks;
+
+    /**
+     * Constructs a JournalEntry, only the fields relevant to the operation should be non-null.
+     *
+     * @param op The operation recorded by this entry.
+     * @param index The index(1-indexed) of the task operated on.
+     * @param indices The indices(1-indexed, ascending) of the tasks operated on, for an operation on many tasks.
+     * @param done Whether the task is marked as done.
+     * @param checksum The checksum of the snapshot this journal is based on.
+     * @param task The task added.
+     * @param tasks The tasks inserted, in the order of their indices.
+     */
+    @JsonCreator
+    public JournalEntry(@JsonProperty("op") String op, @JsonProperty("index") Integer index,
+            @JsonProperty("indices") int[] indices, @JsonProperty("done") Boolean done,
+            @JsonProperty("checksum") Long checksum, @JsonProperty("task") Task task,
+            @JsonProperty("tasks") Task[] tasks) {
+        this.op = op;
+        this.index = index;
+        this.indices = indices;
+        this.done = done;
+        this.checksum = checksum;
+        this.task = task;
+        this.tasks = tasks;
+    }
+
+    public static JournalEntry base(long checksum) {
+        return new JournalEntry(OP_BASE, null, null, null, checksum, null, null);
+    }
+
+    public static JournalEntry add(Task task) {
+        return new JournalEntry(OP_ADD, null, null, null, null, task, null);
+    }
+
+    public static JournalEntry mark(int index, boolean done) {
+        return new JournalEntry(OP_MARK, index, null, done, null, null, null);
+    }
+
+    public static JournalEntry delete(int index) {
+        return new JournalEntry(OP_DELETE, index, null, null, null, null, null);
+    }
+
+    public static JournalEntry markAll(int[] indices, boolean done) {
+        return new JournalEntry(OP_MARK, null, indices, done, null, null, null);
+    }
+
+    public static JournalEntry deleteAll(int[] indices) {
+        return new JournalEntry(OP_DELETE, null, indices, null, null, null, null);
+    }
+
+    public static JournalEntry insertAll(int[] indices, Task[] tasks) {
+        return new JournalEntry(OP_INSERT, null, indices, null, null, null, tasks);
+    }
+
+    /**
+     * Returns the entry recording a change made by undoing or redoing another.
+     *
+     * @param change The change.
+     * @return The entry.
+     */
+    public static JournalEntry of(Change change) {
+        int[] indices = change.getIndices();
+        switch (change.getKind()) {
+            case INSERT:
+                return insertAll(indices, change.getTasks());
+            case DELETE:
+                return indices.length == 1 ? delete(indices[0]) : deleteAll(indices);
+            default:
+                return indices.length == 1 ? mark(indices[0], change.isDone()) : markAll(indices, change.isDone());
+        }
+    }
+
+    public String getOp() {
+        return op;
+    }
+
+    public Integer getIndex() {
+        return index;
+    }
+
+    public int[] getIndices() {
+        return indices;
+    }
+
+    public Boolean getDone() {
+        return done;
+    }
+
+    public Long getChecksum() {
+        return checksum;
+    }
+
+    public Task getTask() {
+        return task;
+    }
+
+    public Task[] getTasks() {
+        return tasks;
+    }
+
+    /**
+     * Returns the lowest index of the tasks this entry changes or moves, where adding a task to the end
+     * of the list changes none of the tasks before it.
+     *
+     * @return The lowest index(1-indexed), or Integer.MAX_VALUE if no task already in the list is changed.
+     */
+    public int lowestIndex() {
+        if (index != null) {
+            return index;
+        }
+        if (indices != null && indices.length > 0) {
+            return indices[0];
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Re-applies the mutation recorded by this entry on the task manager.
+     *
+     * @param taskManager The task manager to apply the mutation on.
+     * @throws DukeException If the entry is malformed or could not be applied.
+     */
+    public void apply(TaskManager taskManager) throws DukeException {
+        if (OP_ADD.equals(op) && task != null) {
+            taskManager.addTask(task);
+        } else if (OP_MARK.equals(op) && index != null && done != null) {
+            taskManager.markTask(index, done);
+        } else if (OP_MARK.equals(op) && indices != null && done != null) {
+            taskManager.markTasks(indices, done);
+        } else if (OP_DELETE.equals(op) && index != null) {
+            taskManager.deleteTask(index);
+        } else if (OP_DELETE.equals(op) && indices != null) {
+            taskManager.deleteTasks(indices);
+        } else if (OP_INSERT.equals(op) && indices != null && tasks != null && indices.length == tasks.length) {
+            taskManager.insertTasks(indices, tasks);
+        } else {
+            throw new DukeException("Error when replaying journal");
+        }
+    }
+}
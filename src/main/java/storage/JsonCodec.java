@@ -0,0 +1,98 @@
+package storage;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.jsontype.NamedType;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import duke.DukeException;
+import task.Deadline;
+import task.Event;
+import task.Task;
+import task.Todo;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents the JSON storage format, which stores the task list as {"tasks":[...]}.
+ */
+public class JsonCodec implements StorageCodec {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    static {
+        MAPPER.registerSubtypes(new NamedType(Todo.class, "Todo"));
+        MAPPER.registerSubtypes(new NamedType(Deadline.class, "Deadline"));
+        MAPPER.registerSubtypes(new NamedType(Event.class, "Event"));
+        MAPPER.registerModule(new JavaTimeModule());
+    }
+    private static final ObjectWriter TASK_WRITER = MAPPER.writerFor(Task.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    private static final String FIELD_TASKS = "tasks";
+
+    @Override
+    public boolean canDecode(byte[] header, int length) {
+        for (int i = 0; i < length; ++i) {
+            if (!Character.isWhitespace(header[i])) {
+                return header[i] == '{';
+            }
+        }
+        // an empty file is an empty task list
+        return true;
+    }
+
+    @Override
+    public void encode(List<Task> tasks, OutputStream out) throws IOException {
+        JsonGenerator generator = MAPPER.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.writeStartObject();
+        generator.writeArrayFieldStart(FIELD_TASKS);
+        for (Task task : tasks) {
+            TASK_WRITER.writeValue(generator, task);
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.close();
+    }
+
+    /**
+     * Reads the tasks from the token stream of the input, materializing one task at a time
+     * so that the file is never held in memory as a whole.
+     */
+    @Override
+    public List<Task> decode(InputStream in) throws IOException, DukeException {
+        JsonParser parser = MAPPER.getFactory().createParser(in);
+        parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+        List<Task> tasks = new ArrayList<>();
+
+        JsonToken token = parser.nextToken();
+        if (token == null) {
+            // empty file
+            return tasks;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw new DukeException("Error when deserializing file");
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            if (!FIELD_TASKS.equals(parser.getCurrentName()) || parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new DukeException("Error when deserializing file");
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                tasks.add(MAPPER.readValue(parser, Task.class));
+            }
+            if (parser.currentToken() != JsonToken.END_ARRAY) {
+                throw new DukeException("Error when deserializing file");
+            }
+        }
+        if (parser.currentToken() != JsonToken.END_OBJECT) {
+            throw new DukeException("Error when deserializing file");
+        }
+        parser.close();
+        return tasks;
+    }
+}
@@ -0,0 +1,284 @@
+package storage;
+
+import duke.DukeException;
+import task.Task;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Represents a task list backed by a memory-mapped file in the binary storage format, where a task is only
+ * decoded from the file when it is accessed. Opening the list and its memory use are therefore independent
+ * of the number of tasks in the file, apart from the tasks that were accessed or changed.
+ *
+ * Changes are kept in memory on top of the file: tasks removed from the file are remembered by their index
+ * in the file, tasks inserted before a task in the file are kept with that task, and tasks added after the last
+ * task in the file are kept after them. How many tasks of the list each task in the file accounts for, counting
+ * the task itself and the tasks inserted before it, is kept in a Fenwick tree, so that finding a task by its index
+ * in the list and changing the list take O(log n) time however many changes were made. The tree is only
+ * allocated once a task in the file is removed or has a task inserted before it.
+ *
+ * Reading the list from several threads at once is safe, even though a read may decode a task into the cache,
+ * but changes to the list should not be made concurrently with anything else.
+ */
+public class MappedTaskList extends AbstractList<Task> implements RandomAccess {
+    private final MappedByteBuffer buffer;
+    private final int version;
+    private final int fileCount;
+    private final int indexPosition;
+    private final Map<Integer, Task> decoded;
+    private final BitSet removed;
+    private final Map<Integer, List<Task>> insertedBefore;
+    private final List<Task> added;
+    private int[] countChanges;
+    private int countChange;
+
+    private MappedTaskList(MappedByteBuffer buffer, int version, int fileCount, int indexPosition) {
+        this.buffer = buffer;
+        this.version = version;
+        this.fileCount = fileCount;
+        this.indexPosition = indexPosition;
+        this.decoded = new ConcurrentHashMap<>();
+        this.removed = new BitSet();
+        this.insertedBefore = new HashMap<>();
+        this.added = new ArrayList<>();
+    }
+
+    /**
+     * Maps the file written by the binary codec.
+     *
+     * @param file The file to be mapped.
+     * @return The task list backed by the file, or null if the file is not in a format that can be mapped.
+     * @throws IOException If the file could not be mapped.
+     * @throws DukeException If the index of the file is corrupted.
+     */
+    public static MappedTaskList open(File file) throws IOException, DukeException {
+        long length = file.length();
+        if (length < BinaryCodec.HEADER_LENGTH + BinaryCodec.FOOTER_LENGTH || length > Integer.MAX_VALUE) {
+            return null;
+        }
+
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+        }
+        byte[] magic = new byte[BinaryCodec.MAGIC.length];
+        buffer.get(0, magic);
+        int version = buffer.get(magic.length);
+        if (!new BinaryCodec().canDecode(magic, magic.length)
+                || version != BinaryCodec.VERSION && version != BinaryCodec.VERSION_WITH_INT_DAYS) {
+            return null;
+        }
+
+        int count = buffer.getInt(magic.length + 1);
+        long indexPosition = buffer.getLong((int) length - BinaryCodec.FOOTER_LENGTH);
+        if (count < 0 || indexPosition + 8L * count + BinaryCodec.FOOTER_LENGTH != length) {
+            throw new DukeException("Error when deserializing file");
+        }
+        return new MappedTaskList(buffer, version, count, (int) indexPosition);
+    }
+
+    /**
+     * Returns the checksum of the mapped file, which is stored at its end, without reading the rest of the file.
+     *
+     * @return The CRC32 checksum of the file.
+     */
+    public long checksum() {
+        return BinaryCodec.readChecksum(buffer);
+    }
+
+    /**
+     * Returns the number of tasks that have been decoded from the file so far.
+     *
+     * @return The number of decoded tasks.
+     */
+    public int getDecodedCount() {
+        return decoded.size();
+    }
+
+    /**
+     * Returns the number of tasks up to the last task in the file, including the tasks inserted before it.
+     */
+    private int getFileSize() {
+        return fileCount + countChange;
+    }
+
+    @Override
+    public int size() {
+        return getFileSize() + added.size();
+    }
+
+    @Override
+    public Task get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size());
+        }
+        if (index >= getFileSize()) {
+            return added.get(index - getFileSize());
+        }
+        int fileIndex = toFileIndex(index);
+        int offset = index - countUpTo(fileIndex - 1);
+        List<Task> inserted = insertedBefore.get(fileIndex);
+        if (inserted != null && offset < inserted.size()) {
+            return inserted.get(offset);
+        }
+        assert !removed.get(fileIndex) : "a removed task should not be accessed";
+        return decoded.computeIfAbsent(fileIndex, this::decode);
+    }
+
+    @Override
+    public Task set(int index, Task task) {
+        Task previous = get(index);
+        if (index >= getFileSize()) {
+            added.set(index - getFileSize(), task);
+            return previous;
+        }
+        int fileIndex = toFileIndex(index);
+        int offset = index - countUpTo(fileIndex - 1);
+        List<Task> inserted = insertedBefore.get(fileIndex);
+        if (inserted != null && offset < inserted.size()) {
+            inserted.set(offset, task);
+        } else {
+            decoded.put(fileIndex, task);
+        }
+        return previous;
+    }
+
+    @Override
+    public void add(int index, Task task) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size());
+        }
+        if (index >= getFileSize()) {
+            added.add(index - getFileSize(), task);
+        } else {
+            // the task is kept with the task in the file that it is inserted before
+            int fileIndex = toFileIndex(index);
+            int offset = index - countUpTo(fileIndex - 1);
+            insertedBefore.computeIfAbsent(fileIndex, key -> new ArrayList<>()).add(offset, task);
+            changeCount(fileIndex, 1);
+        }
+        modCount++;
+    }
+
+    @Override
+    public Task remove(int index) {
+        Task task = get(index);
+        if (index >= getFileSize()) {
+            added.remove(index - getFileSize());
+        } else {
+            int fileIndex = toFileIndex(index);
+            int offset = index - countUpTo(fileIndex - 1);
+            List<Task> inserted = insertedBefore.get(fileIndex);
+            if (inserted != null && offset < inserted.size()) {
+                inserted.remove(offset);
+                if (inserted.isEmpty()) {
+                    insertedBefore.remove(fileIndex);
+                }
+            } else {
+                decoded.remove(fileIndex);
+                removed.set(fileIndex);
+            }
+            changeCount(fileIndex, -1);
+        }
+        modCount++;
+        return task;
+    }
+
+    /**
+     * Finds the task in the file that accounts for the index in the list, either by being at the index
+     * or by having the task at the index inserted before it.
+     */
+    private int toFileIndex(int index) {
+        if (countChanges == null) {
+            return index;
+        }
+        // every task in the file accounts for one task, plus the change kept in the tree
+        int fileIndex = 0;
+        int remaining = index + 1;
+        for (int step = Integer.highestOneBit(countChanges.length - 1); step > 0; step >>= 1) {
+            int next = fileIndex + step;
+            if (next < countChanges.length && step + countChanges[next] < remaining) {
+                fileIndex = next;
+                remaining -= step + countChanges[next];
+            }
+        }
+        return fileIndex;
+    }
+
+    /**
+     * Returns the number of tasks in the list accounted for by the tasks in the file up to the file index.
+     */
+    private int countUpTo(int fileIndex) {
+        int count = fileIndex + 1;
+        if (countChanges != null) {
+            for (int i = fileIndex + 1; i > 0; i -= i & -i) {
+                count += countChanges[i];
+            }
+        }
+        return count;
+    }
+
+    private void changeCount(int fileIndex, int change) {
+        if (countChanges == null) {
+            countChanges = new int[fileCount + 1];
+        }
+        for (int i = fileIndex + 1; i < countChanges.length; i += i & -i) {
+            countChanges[i] += change;
+        }
+        countChange += change;
+    }
+
+    private Task decode(int fileIndex) {
+        int offset = (int) buffer.getLong(indexPosition + 8 * fileIndex);
+        try {
+            ByteBuffer record = buffer.duplicate().position(offset);
+            return BinaryCodec.readTask(new DataInputStream(new BufferInputStream(record)), version);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (DukeException e) {
+            throw new UncheckedIOException(new IOException(e.getMessage()));
+        }
+    }
+
+    /**
+     * Represents an input stream that reads from a byte buffer.
+     */
+    private static class BufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        BufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+    }
+}
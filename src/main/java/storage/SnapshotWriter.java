@@ -0,0 +1,85 @@
+package storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Represents a writer that replaces the content of a file atomically. The new content is written to a
+ * sibling temporary file and forced to the disk before it is moved over the file, so a crash in the
+ * middle of a write leaves either the old or the new content, never a mix of both.
+ */
+public class SnapshotWriter {
+    private static final String TEMP_SUFFIX = ".tmp";
+    private Path target;
+    private Path temp;
+
+    /**
+     * Constructs a SnapshotWriter that replaces the content of the target file.
+     *
+     * @param target The file to be written.
+     */
+    public SnapshotWriter(File target) {
+        assert target != null : "target of snapshot writer should not be null";
+        this.target = target.toPath();
+        this.temp = new File(target.getPath() + TEMP_SUFFIX).toPath();
+    }
+
+    /**
+     * Replaces the content of the target file with the data.
+     *
+     * @param data The new content of the file.
+     * @throws IOException If the data could not be written.
+     */
+    public void write(byte[] data) throws IOException {
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        forceDirectory();
+    }
+
+    /**
+     * Recovers from a write that was interrupted by a crash. The temporary file is moved into place atomically,
+     * so a temporary file left behind was never moved and may be partly written. It is always discarded,
+     * leaving the target as it was before the interrupted write.
+     *
+     * @return True if a temporary file was discarded.
+     * @throws IOException If the temporary file could not be deleted.
+     */
+    public boolean recover() throws IOException {
+        return Files.deleteIfExists(temp);
+    }
+
+    /**
+     * Forces the directory entry of the renamed file to the disk, which is not supported on every platform.
+     */
+    private void forceDirectory() {
+        Path directory = target.toAbsolutePath().getParent();
+        if (directory == null) {
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // directories cannot be opened on some platforms, the rename is still atomic there
+        }
+    }
+}
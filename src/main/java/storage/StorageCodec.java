@@ -0,0 +1,42 @@
+package storage;
+
+import duke.DukeException;
+import task.Task;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Represents a format in which the task list is stored on the disk.
+ */
+public interface StorageCodec {
+    /**
+     * Checks whether a file starting with the header was written in this format.
+     *
+     * @param header The first bytes of the file.
+     * @param length The number of bytes in the header, which may be less than the length of the array.
+     * @return True if the file can be decoded by this codec.
+     */
+    boolean canDecode(byte[] header, int length);
+
+    /**
+     * Writes the tasks to the output in this format.
+     *
+     * @param tasks The tasks to be written.
+     * @param out The output to write to.
+     * @throws IOException If the tasks could not be written.
+     */
+    void encode(List<Task> tasks, OutputStream out) throws IOException;
+
+    /**
+     * Reads the tasks from the input written in this format.
+     *
+     * @param in The input to read from.
+     * @return The tasks read.
+     * @throws IOException If the input could not be read.
+     * @throws DukeException If the input is not in this format.
+     */
+    List<Task> decode(InputStream in) throws IOException, DukeException;
+}
@@ -4,7 +4,6 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 
 /**
  * Represents a deadline task.
@@ -32,14 +31,16 @@ public class Deadline extends Task {
         this.deadline = deadline;
 
         assert this.deadline != null : "deadline should not be null";
+        invalidateRendering();
+        notifyDatesChanged();
     }
 
     private String getFormattedDeadline() {
-        return this.deadline.format(DateTimeFormatter.ofPattern("MMM d yyyy"));
+        return this.deadline.format(DATE_FORMAT);
     }
 
     @Override
-    public String toString() {
-        return "[D]" + super.toString() + " (by: " + getFormattedDeadline() + ")";
+    protected String render() {
+        return "[D]" + super.render() + " (by: " + getFormattedDeadline() + ")";
     }
 }
@@ -4,7 +4,6 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 
 /**
  * Represents an event task.
@@ -38,20 +37,24 @@ public class Event extends Task {
     public void setStart(LocalDate start) {
         this.start = start;
         assert this.start != null : "start date of an Event should not be null";
+        invalidateRendering();
+        notifyDatesChanged();
     }
 
     public void setEnd(LocalDate end) {
         this.end = end;
         assert this.end != null : "end date of an Event should not be null";
+        invalidateRendering();
+        notifyDatesChanged();
     }
 
     private String getFormattedDate(LocalDate date) {
-        return date.format(DateTimeFormatter.ofPattern("MMM d yyyy"));
+        return date.format(DATE_FORMAT);
     }
 
     @Override
-    public String toString() {
-        return "[E]" + super.toString()
+    protected String render() {
+        return "[E]" + super.render()
                 + " (from: " + getFormattedDate(this.start)
                 + " to: " + getFormattedDate(this.end) + ")";
     }
@@ -1,12 +1,20 @@
 package task;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+
 /**
  * Represents an abstract task class.
+ *
+ * The string representation of a task is rendered once and cached until the task is changed, so listing
+ * unchanged tasks does no formatting. Several threads may read a task at once, but a task should not be changed
+ * while it is being read.
  */
 @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.PROPERTY)
 @JsonSubTypes({
@@ -15,8 +23,13 @@ import com.fasterxml.jackson.annotation.JsonTypeInfo;
         @JsonSubTypes.Type(value = Event.class, name = "Event")
 })
 public abstract class Task {
+    /** The format of the dates shown in the string representation of tasks. */
+    public static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("MMM d yyyy");
+    private static final TaskChangeListener[] NO_LISTENERS = new TaskChangeListener[0];
     private String description;
     private boolean isDone;
+    private TaskChangeListener[] listeners = NO_LISTENERS;
+    private volatile String rendering;
 
     /**
      * Constructs a Task with a task name.
@@ -38,13 +51,64 @@ public abstract class Task {
     }
 
     public void setDescription(String description) {
+        String oldDescription = this.description;
         this.description = description;
+        invalidateRendering();
 
         assert this.description != null : "task description should not be null";
+        for (TaskChangeListener listener : listeners) {
+            listener.onDescriptionChanged(this, oldDescription);
+        }
+    }
+
+    /**
+     * Adds a listener to be notified when this task is changed, unless it is already listening.
+     *
+     * @param listener The listener to be added.
+     */
+    @JsonIgnore
+    public void addListener(TaskChangeListener listener) {
+        assert listener != null : "listener of a task should not be null";
+        for (TaskChangeListener existing : listeners) {
+            if (existing == listener) {
+                return;
+            }
+        }
+        TaskChangeListener[] newListeners = Arrays.copyOf(listeners, listeners.length + 1);
+        newListeners[listeners.length] = listener;
+        listeners = newListeners;
+    }
+
+    /**
+     * Removes a listener so that it is no longer notified when this task is changed.
+     *
+     * @param listener The listener to be removed.
+     */
+    @JsonIgnore
+    public void removeListener(TaskChangeListener listener) {
+        for (int i = 0; i < listeners.length; ++i) {
+            if (listeners[i] == listener) {
+                TaskChangeListener[] newListeners = new TaskChangeListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, newListeners, 0, i);
+                System.arraycopy(listeners, i + 1, newListeners, i, listeners.length - i - 1);
+                listeners = newListeners;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Notifies the listeners that the dates of this task were changed.
+     */
+    protected void notifyDatesChanged() {
+        for (TaskChangeListener listener : listeners) {
+            listener.onDatesChanged(this);
+        }
     }
 
     public void setDone(boolean isDone) {
         this.isDone = isDone;
+        invalidateRendering();
     }
 
     /**
@@ -53,14 +117,37 @@ public abstract class Task {
      */
     public void markTask(boolean done) {
         this.isDone = done;
+        invalidateRendering();
     }
 
-    @Override
-    public String toString() {
+    /**
+     * Discards the cached string representation, which should be called whenever anything shown in it is changed.
+     */
+    protected void invalidateRendering() {
+        rendering = null;
+    }
+
+    /**
+     * Renders the string representation of this task, which is cached by toString.
+     *
+     * @return The string representation of this task.
+     */
+    protected String render() {
         char marked = 'X';
         return "[" + (isDone ? marked : " ") + "] " + this.description;
     }
 
+    @Override
+    public final String toString() {
+        // concurrent readers may each render a missing string, but they all cache an equal one
+        String result = rendering;
+        if (result == null) {
+            result = render();
+            rendering = result;
+        }
+        return result;
+    }
+
     /**
      * Finds whether the description has the pattern in it.
      *
@@ -0,0 +1,23 @@
+package task;
+
+/**
+ * Represents a listener that is notified when a task it listens to is changed.
+ */
+public interface TaskChangeListener {
+    /**
+     * Called after the description of the task was changed.
+     *
+     * @param task The task that was changed.
+     * @param oldDescription The description of the task before the change.
+     */
+    default void onDescriptionChanged(Task task, String oldDescription) {
+    }
+
+    /**
+     * Called after the deadline of a Deadline task, or the start or end of an Event task, was changed.
+     *
+     * @param task The task that was changed.
+     */
+    default void onDatesChanged(Task task) {
+    }
+}
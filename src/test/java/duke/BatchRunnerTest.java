@@ -0,0 +1,54 @@
+package duke;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BatchRunnerTest {
+    private static final File DATA_FILE = new File("src/test/resources/batch.json");
+
+    @AfterEach
+    public void tearDown() {
+        DATA_FILE.delete();
+        new File(DATA_FILE.getPath() + ".journal").delete();
+    }
+
+    @Test
+    public void run_commands_responsesWritten() throws Exception {
+        tearDown();
+        BatchRunner runner = new BatchRunner(DATA_FILE, true);
+        StringWriter out = new StringWriter();
+        long count = runner.run(new BufferedReader(new StringReader("todo read book\n\nlist\nbye\ntodo ignored\n")), out);
+
+        assertEquals(3, count);
+        assertTrue(out.toString().contains("\nGot it. I've added this task:\n  [T][ ] read book\n"
+                + "Now you have 1 tasks in the list.\n\n"));
+        assertTrue(out.toString().contains("\nHere are the tasks in your list:\n1.[T][ ] read book\n\n"));
+        assertTrue(out.toString().endsWith("\u2500\nBye. Hope to see you again soon!\n\n"));
+    }
+
+    @Test
+    public void run_noEcho_nothingWrittenButSaved() throws Exception {
+        tearDown();
+        StringBuilder commands = new StringBuilder();
+        for (int i = 0; i < 500; ++i) {
+            commands.append("todo task ").append(i).append('\n');
+        }
+        StringWriter out = new StringWriter();
+        long count = new BatchRunner(DATA_FILE, false).run(new BufferedReader(new StringReader(commands.toString())),
+                out);
+
+        assertEquals(500, count);
+        assertEquals("", out.toString());
+        DiskManager diskManager = new DiskManager("src/test/resources", "batch.json");
+        diskManager.setJournalEnabled(true);
+        assertEquals(500, diskManager.loadFromDisk().getTasks().size());
+    }
+}
@@ -2,9 +2,22 @@ package duke;
 
 import org.junit.jupiter.api.Test;
 
+import storage.BinaryCodec;
+import storage.Durability;
+import storage.JsonCodec;
+import storage.MappedTaskList;
+import task.Deadline;
+import task.Event;
+import task.Todo;
+
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.fail;
 
 public class DiskManagerTest {
@@ -43,4 +56,374 @@ public class DiskManagerTest {
         assertEquals("", new DiskManager("src/test/resources", "dummy.json")
                 .loadFromDisk().toString());
     }
+
+    private static void deleteStorageFiles(String fileName) {
+        new File("src/test/resources/" + fileName).delete();
+        new File("src/test/resources/" + fileName + ".journal").delete();
+        new File("src/test/resources/" + fileName + ".done").delete();
+    }
+
+    private static TaskManager createTasks(String... descriptions) {
+        TaskManager taskManager = new TaskManager();
+        for (String description : descriptions) {
+            taskManager.addTask(new Todo(description));
+        }
+        return taskManager;
+    }
+
+    private static DiskManager newJournaledDiskManager(String fileName) {
+        deleteStorageFiles(fileName);
+        DiskManager diskManager = new DiskManager("src/test/resources", fileName);
+        diskManager.setJournalEnabled(true);
+        return diskManager;
+    }
+
+    @Test
+    public void loadFromDisk_replayJournal_success() throws DukeException {
+        DiskManager diskManager = newJournaledDiskManager("journal.json");
+        TaskManager taskManager = diskManager.loadFromDisk();
+
+        Todo todo = new Todo("play");
+        taskManager.addTask(todo);
+        diskManager.saveAddedTask(taskManager, todo);
+        Deadline deadline = new Deadline("submit", LocalDate.of(2023, 8, 9));
+        taskManager.addTask(deadline);
+        diskManager.saveAddedTask(taskManager, deadline);
+        taskManager.markTask(2, true);
+        diskManager.saveMarkedTask(taskManager, 2, true);
+        taskManager.deleteTask(1);
+        diskManager.saveDeletedTask(taskManager, 1);
+
+        DiskManager reloaded = new DiskManager("src/test/resources", "journal.json");
+        reloaded.setJournalEnabled(true);
+        assertEquals("[D][X] submit (by: Aug 9 2023)", reloaded.loadFromDisk().toString());
+        deleteStorageFiles("journal.json");
+    }
+
+    @Test
+    public void loadFromDisk_replayBulkChanges_success() throws DukeException {
+        DiskManager diskManager = newJournaledDiskManager("journal_bulk.json");
+        TaskManager taskManager = diskManager.loadFromDisk();
+        for (int i = 1; i <= 10; ++i) {
+            Todo todo = new Todo("task " + i);
+            taskManager.addTask(todo);
+            diskManager.saveAddedTask(taskManager, todo);
+        }
+
+        int[] marked = taskManager.selectTasks(TaskSelection.parse("1,3-5,9"));
+        taskManager.markTasks(marked, true);
+        diskManager.saveMarkedTasks(taskManager, marked, true);
+        int[] deleted = taskManager.selectTasks(TaskSelection.parse("done"));
+        taskManager.deleteTasks(deleted);
+        diskManager.saveDeletedTasks(taskManager, deleted);
+        int[] deletedRange = taskManager.selectTasks(TaskSelection.parse("2-3"));
+        taskManager.deleteTasks(deletedRange);
+        diskManager.saveDeletedTasks(taskManager, deletedRange);
+
+        DiskManager reloaded = new DiskManager("src/test/resources", "journal_bulk.json");
+        reloaded.setJournalEnabled(true);
+        assertEquals("[T][ ] task 2[T][ ] task 8[T][ ] task 10", reloaded.loadFromDisk().toString());
+        deleteStorageFiles("journal_bulk.json");
+    }
+
+    @Test
+    public void loadFromDisk_compactedJournal_success() throws DukeException {
+        DiskManager diskManager = newJournaledDiskManager("journal_compacted.json");
+        diskManager.setCompactionThreshold(2);
+        TaskManager taskManager = diskManager.loadFromDisk();
+        for (int i = 1; i <= 5; ++i) {
+            Todo todo = new Todo("play " + i);
+            taskManager.addTask(todo);
+            diskManager.saveAddedTask(taskManager, todo);
+        }
+
+        // the snapshot only contains the tasks compacted so far
+        assertEquals("[T][ ] play 1[T][ ] play 2[T][ ] play 3[T][ ] play 4",
+                new DiskManager("src/test/resources", "journal_compacted.json").loadFromDisk().toString());
+
+        DiskManager reloaded = new DiskManager("src/test/resources", "journal_compacted.json");
+        reloaded.setJournalEnabled(true);
+        assertEquals(taskManager.toString(), reloaded.loadFromDisk().toString());
+        deleteStorageFiles("journal_compacted.json");
+    }
+
+    @Test
+    public void flush_asyncDurability_changesWritten() throws DukeException {
+        for (Durability durability : new Durability[] {Durability.BATCHED, Durability.ASYNC}) {
+            DiskManager diskManager = newJournaledDiskManager("journal_async.json");
+            diskManager.setDurability(durability, 10);
+            TaskManager taskManager = diskManager.loadFromDisk();
+            for (int i = 1; i <= 3; ++i) {
+                Todo todo = new Todo("play " + i);
+                taskManager.addTask(todo);
+                diskManager.saveAddedTask(taskManager, todo);
+            }
+            taskManager.markTask(2, true);
+            diskManager.saveMarkedTask(taskManager, 2, true);
+            diskManager.flush();
+
+            DiskManager reloaded = new DiskManager("src/test/resources", "journal_async.json");
+            reloaded.setJournalEnabled(true);
+            assertEquals("[T][ ] play 1[T][X] play 2[T][ ] play 3", reloaded.loadFromDisk().toString());
+            diskManager.setDurability(Durability.SYNC);
+        }
+        deleteStorageFiles("journal_async.json");
+    }
+
+    @Test
+    public void loadFromDisk_interruptedSave_recovered() throws DukeException, IOException {
+        File file = new File("src/test/resources/interrupted.json");
+        File temp = new File("src/test/resources/interrupted.json.tmp");
+        String json = "{\"tasks\":[{\"@type\":\"Todo\",\"description\":\"play\",\"isDone\":false}]}";
+
+        // the temporary file was never moved into place, so the previous save is kept
+        Files.writeString(file.toPath(), json);
+        Files.writeString(temp.toPath(), "{\"tasks\":[{\"@type\":");
+        assertEquals("[T][ ] play", new DiskManager("src/test/resources", "interrupted.json")
+                .loadFromDisk().toString());
+        assertFalse(temp.exists());
+
+        // the very first save was interrupted, which leaves no tasks rather than a partly written file
+        file.delete();
+        Files.writeString(temp.toPath(), "{\"tasks\":[{\"@type\":");
+        assertEquals("", new DiskManager("src/test/resources", "interrupted.json")
+                .loadFromDisk().toString());
+        assertFalse(temp.exists());
+        file.delete();
+    }
+
+    @Test
+    public void loadFromDisk_jsonFileWithBinaryCodec_migrated() throws DukeException, IOException {
+        String expected = "[T][ ] play[D][ ] play (by: Aug 9 2023)[E][X] play (from: Apr 4 2023 to: May 5 2023)";
+        File file = new File("src/test/resources/migrated.json");
+        Files.copy(new File("src/test/resources/tasks.json").toPath(), file.toPath(),
+                StandardCopyOption.REPLACE_EXISTING);
+
+        DiskManager diskManager = new DiskManager("src/test/resources", "migrated.json");
+        diskManager.setCodec(new BinaryCodec());
+        assertEquals(expected, diskManager.loadFromDisk().toString());
+        assertEquals('D', Files.readAllBytes(file.toPath())[0]);
+
+        // the binary file is detected even when saving as json
+        DiskManager jsonDiskManager = new DiskManager("src/test/resources", "migrated.json");
+        jsonDiskManager.setCodec(new JsonCodec());
+        assertEquals(expected, jsonDiskManager.loadFromDisk().toString());
+        assertEquals('{', Files.readAllBytes(file.toPath())[0]);
+        file.delete();
+    }
+
+    @Test
+    public void loadFromDisk_binaryFileWithExtremeDates_roundTripped() throws DukeException {
+        deleteStorageFiles("extreme.bin");
+        TaskManager taskManager = new TaskManager();
+        taskManager.addTask(new Deadline("far", LocalDate.parse("+6000000-01-01")));
+        taskManager.addTask(new Event("forever", LocalDate.MIN, LocalDate.MAX));
+        String expected = taskManager.toString();
+        DiskManager diskManager = new DiskManager("src/test/resources", "extreme.bin");
+        diskManager.setCodec(new BinaryCodec());
+        diskManager.saveToDisk(taskManager);
+        assertEquals(expected, diskManager.loadFromDisk().toString());
+
+        DiskManager mappedDiskManager = new DiskManager("src/test/resources", "extreme.bin");
+        mappedDiskManager.setCodec(new BinaryCodec());
+        mappedDiskManager.setMemoryMapped(true);
+        assertEquals(expected, mappedDiskManager.loadFromDisk().toString());
+        deleteStorageFiles("extreme.bin");
+    }
+
+    @Test
+    public void loadFromDisk_memoryMapped_decodedOnAccess() throws DukeException {
+        deleteStorageFiles("mapped.bin");
+        DiskManager binaryDiskManager = new DiskManager("src/test/resources", "mapped.bin");
+        binaryDiskManager.setCodec(new BinaryCodec());
+        binaryDiskManager.saveToDisk(createTasks("read", "play", "sleep"));
+
+        DiskManager diskManager = new DiskManager("src/test/resources", "mapped.bin");
+        diskManager.setCodec(new BinaryCodec());
+        diskManager.setMemoryMapped(true);
+        diskManager.setJournalEnabled(true);
+        TaskManager taskManager = diskManager.loadFromDisk();
+        MappedTaskList tasks = (MappedTaskList) taskManager.getTasks();
+        assertEquals(0, tasks.getDecodedCount());
+
+        taskManager.markTask(3, true);
+        diskManager.saveMarkedTask(taskManager, 3, true);
+        taskManager.deleteTask(1);
+        diskManager.saveDeletedTask(taskManager, 1);
+        Todo todo = new Todo("eat");
+        taskManager.addTask(todo);
+        diskManager.saveAddedTask(taskManager, todo);
+        // the removed task is no longer held in memory
+        assertEquals(1, tasks.getDecodedCount());
+        assertEquals("[T][ ] play[T][X] sleep[T][ ] eat", taskManager.toString());
+
+        DiskManager reloaded = new DiskManager("src/test/resources", "mapped.bin");
+        reloaded.setCodec(new BinaryCodec());
+        reloaded.setMemoryMapped(true);
+        reloaded.setJournalEnabled(true);
+        assertEquals("[T][ ] play[T][X] sleep[T][ ] eat", reloaded.loadFromDisk().toString());
+
+        // loading the whole file agrees with the mapped file on the checksum the journal is based on
+        DiskManager eagerlyReloaded = new DiskManager("src/test/resources", "mapped.bin");
+        eagerlyReloaded.setCodec(new BinaryCodec());
+        eagerlyReloaded.setJournalEnabled(true);
+        assertEquals("[T][ ] play[T][X] sleep[T][ ] eat", eagerlyReloaded.loadFromDisk().toString());
+        deleteStorageFiles("mapped.bin");
+    }
+
+    @Test
+    public void saveChange_undoAndRedo_replayed() throws DukeException {
+        DiskManager diskManager = newJournaledDiskManager("journal_undo.json");
+        TaskManager taskManager = diskManager.loadFromDisk();
+        for (int i = 1; i <= 4; ++i) {
+            Todo todo = new Todo("task " + i);
+            taskManager.addTask(todo);
+            diskManager.saveAddedTask(taskManager, todo);
+        }
+        taskManager.markTask(3, true);
+        diskManager.saveMarkedTask(taskManager, 3, true);
+        taskManager.deleteTasks(new int[] {2, 3});
+        diskManager.saveDeletedTasks(taskManager, new int[] {2, 3});
+
+        diskManager.saveChange(taskManager, taskManager.undo());
+        diskManager.saveChange(taskManager, taskManager.undo());
+        diskManager.saveChange(taskManager, taskManager.redo());
+
+        DiskManager reloaded = new DiskManager("src/test/resources", "journal_undo.json");
+        reloaded.setJournalEnabled(true);
+        TaskManager reloadedTaskManager = reloaded.loadFromDisk();
+        assertEquals("[T][ ] task 1[T][ ] task 2[T][X] task 3[T][ ] task 4", reloadedTaskManager.toString());
+        // the changes of an earlier session cannot be undone
+        try {
+            reloadedTaskManager.undo();
+            fail();
+        } catch (DukeException e) {
+            assertEquals("Oops!!! There is nothing to undo", e.getMessage());
+        }
+        deleteStorageFiles("journal_undo.json");
+    }
+
+    @Test
+    public void saveChange_undoDeleteOnMemoryMapped_replayed() throws DukeException {
+        deleteStorageFiles("mapped_undo.bin");
+        DiskManager binaryDiskManager = new DiskManager("src/test/resources", "mapped_undo.bin");
+        binaryDiskManager.setCodec(new BinaryCodec());
+        binaryDiskManager.saveToDisk(createTasks("read", "play", "sleep"));
+
+        DiskManager diskManager = new DiskManager("src/test/resources", "mapped_undo.bin");
+        diskManager.setCodec(new BinaryCodec());
+        diskManager.setMemoryMapped(true);
+        diskManager.setJournalEnabled(true);
+        TaskManager taskManager = diskManager.loadFromDisk();
+        taskManager.deleteTask(2);
+        diskManager.saveDeletedTask(taskManager, 2);
+        diskManager.saveChange(taskManager, taskManager.undo());
+        // putting the task back does not copy the tasks out of the file
+        assertEquals(0, ((MappedTaskList) taskManager.getTasks()).getDecodedCount());
+        assertEquals("[T][ ] read[T][ ] play[T][ ] sleep", taskManager.toString());
+
+        DiskManager reloaded = new DiskManager("src/test/resources", "mapped_undo.bin");
+        reloaded.setCodec(new BinaryCodec());
+        reloaded.setMemoryMapped(true);
+        reloaded.setJournalEnabled(true);
+        assertEquals("[T][ ] read[T][ ] play[T][ ] sleep", reloaded.loadFromDisk().toString());
+        deleteStorageFiles("mapped_undo.bin");
+    }
+
+    @Test
+    public void saveMarkedTask_withoutJournal_storageFileNotRewritten() throws DukeException, IOException {
+        deleteStorageFiles("bitmap.json");
+        File file = new File("src/test/resources/bitmap.json");
+        File bitmap = new File("src/test/resources/bitmap.json.done");
+        DiskManager diskManager = new DiskManager("src/test/resources", "bitmap.json");
+        TaskManager taskManager = diskManager.loadFromDisk();
+        for (int i = 1; i <= 20; ++i) {
+            Todo todo = new Todo("task " + i);
+            taskManager.addTask(todo);
+            diskManager.saveAddedTask(taskManager, todo);
+        }
+        byte[] saved = Files.readAllBytes(file.toPath());
+
+        taskManager.markTask(3, true);
+        diskManager.saveMarkedTask(taskManager, 3, true);
+        taskManager.markTasks(new int[] {3, 12, 20}, true);
+        diskManager.saveMarkedTasks(taskManager, new int[] {3, 12, 20}, true);
+        taskManager.markTask(3, false);
+        diskManager.saveMarkedTask(taskManager, 3, false);
+        assertEquals(new String(saved), new String(Files.readAllBytes(file.toPath())));
+        String expected = taskManager.toString();
+        assertEquals(expected, new DiskManager("src/test/resources", "bitmap.json").loadFromDisk().toString());
+
+        // adding a task writes the storage file, which then holds the done status of every task
+        Todo todo = new Todo("task 21");
+        taskManager.addTask(todo);
+        diskManager.saveAddedTask(taskManager, todo);
+        assertFalse(bitmap.exists());
+        assertEquals(expected + "[T][ ] task 21",
+                new DiskManager("src/test/resources", "bitmap.json").loadFromDisk().toString());
+        deleteStorageFiles("bitmap.json");
+    }
+
+    @Test
+    public void saveMarkedTask_withJournal_journalNotAppended() throws DukeException, IOException {
+        DiskManager diskManager = newJournaledDiskManager("bitmap_journal.json");
+        File journal = new File("src/test/resources/bitmap_journal.json.journal");
+        diskManager.saveToDisk(createTasks("read", "play", "sleep"));
+        TaskManager taskManager = diskManager.loadFromDisk();
+        Todo todo = new Todo("eat");
+        taskManager.addTask(todo);
+        diskManager.saveAddedTask(taskManager, todo);
+        long journalLength = journal.length();
+
+        // tasks added to the end do not move the tasks in the storage file
+        taskManager.markTasks(new int[] {1, 3}, true);
+        diskManager.saveMarkedTasks(taskManager, new int[] {1, 3}, true);
+        taskManager.markTask(1, false);
+        diskManager.saveMarkedTask(taskManager, 1, false);
+        assertEquals(journalLength, journal.length());
+        DiskManager reloaded = new DiskManager("src/test/resources", "bitmap_journal.json");
+        reloaded.setJournalEnabled(true);
+        assertEquals("[T][ ] read[T][ ] play[T][X] sleep[T][ ] eat", reloaded.loadFromDisk().toString());
+
+        // once a task is removed, the later marks are only replayed in order from the journal
+        taskManager.deleteTask(1);
+        diskManager.saveDeletedTask(taskManager, 1);
+        taskManager.markTask(2, false);
+        diskManager.saveMarkedTask(taskManager, 2, false);
+        TaskManager reloadedTaskManager = reloaded.loadFromDisk();
+        assertEquals("[T][ ] play[T][ ] sleep[T][ ] eat", reloadedTaskManager.toString());
+        // a journal replayed with a removed task keeps the marks in the journal too
+        reloadedTaskManager.markTask(1, true);
+        reloaded.saveMarkedTask(reloadedTaskManager, 1, true);
+        assertEquals("[T][X] play[T][ ] sleep[T][ ] eat", reloaded.loadFromDisk().toString());
+        deleteStorageFiles("bitmap_journal.json");
+    }
+
+    @Test
+    public void loadFromDisk_staleDoneBitmap_ignored() throws DukeException, IOException {
+        deleteStorageFiles("bitmap_stale.bin");
+        File bitmap = new File("src/test/resources/bitmap_stale.bin.done");
+        File staleBitmap = new File("src/test/resources/bitmap_stale.bin.stale");
+        DiskManager diskManager = new DiskManager("src/test/resources", "bitmap_stale.bin");
+        diskManager.setCodec(new BinaryCodec());
+        TaskManager taskManager = createTasks("read", "play", "sleep");
+        diskManager.saveToDisk(taskManager);
+        taskManager.markTask(2, true);
+        diskManager.saveMarkedTask(taskManager, 2, true);
+
+        DiskManager mappedDiskManager = new DiskManager("src/test/resources", "bitmap_stale.bin");
+        mappedDiskManager.setCodec(new BinaryCodec());
+        mappedDiskManager.setMemoryMapped(true);
+        TaskManager mappedTaskManager = mappedDiskManager.loadFromDisk();
+        // only the marked task is decoded to apply the bitmap
+        assertEquals(1, ((MappedTaskList) mappedTaskManager.getTasks()).getDecodedCount());
+        assertEquals("[T][ ] read[T][X] play[T][ ] sleep", mappedTaskManager.toString());
+
+        // a bitmap based on another storage file has to be left out
+        Files.copy(bitmap.toPath(), staleBitmap.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        diskManager.saveToDisk(createTasks("read", "play", "nap"));
+        Files.move(staleBitmap.toPath(), bitmap.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        assertEquals("[T][ ] read[T][ ] play[T][ ] nap", mappedDiskManager.loadFromDisk().toString());
+        deleteStorageFiles("bitmap_stale.bin");
+    }
 }
@@ -0,0 +1,85 @@
+package duke;
+
+import metrics.CommandMetrics;
+import metrics.Metrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DukeTest {
+    private static final String FILE_NAME = "duke.json";
+
+    @AfterEach
+    public void tearDown() {
+        new File("src/test/resources/" + FILE_NAME).delete();
+        new File("src/test/resources/" + FILE_NAME + ".journal").delete();
+    }
+
+    @Test
+    public void executeAsync_manyInputs_executedInOrder() throws Exception {
+        tearDown();
+        Duke duke = new Duke("src/test/resources", FILE_NAME);
+        List<CompletableFuture<String>> responses = new ArrayList<>();
+        for (int i = 1; i <= 50; ++i) {
+            responses.add(duke.executeAsync("todo task " + i));
+        }
+        responses.add(duke.executeAsync("delete 1"));
+        CompletableFuture<String> list = duke.executeAsync("list");
+
+        for (int i = 1; i <= 50; ++i) {
+            assertEquals("Got it. I've added this task:\n  [T][ ] task " + i + "\n"
+                    + "Now you have " + i + " tasks in the list.\n", responses.get(i - 1).get());
+        }
+        assertEquals("Noted! I've removed this task:\n  [T][ ] task 1\n"
+                + "Now you have 49 tasks in the list.\n", responses.get(50).get());
+        assertEquals("1.[T][ ] task 2", list.get().lines().skip(1).findFirst().orElse(""));
+        assertFalse(duke.isExited());
+
+        duke.executeAsync("bye").get();
+        assertTrue(duke.isExited());
+    }
+
+    @Test
+    public void execute_commands_metricsRecorded() throws Exception {
+        tearDown();
+        Duke duke = new Duke("src/test/resources", FILE_NAME);
+        duke.execute("todo read book");
+        duke.execute("todo return book");
+        duke.execute("delete 5");
+        duke.execute("blah");
+        duke.execute("list");
+
+        Metrics metrics = duke.getMetrics();
+        assertEquals(5, metrics.getCommandCount());
+        assertEquals(2, metrics.getTaskCount());
+        assertTrue(metrics.getBytesWritten() > 0);
+        CommandMetrics todo = metrics.forCommand("todo");
+        assertEquals(2, todo.getCount());
+        assertEquals(0, todo.getErrorCount());
+        assertEquals(2, todo.getSaveLatency().getCount());
+        assertEquals(1, metrics.forCommand("delete").getErrorCount());
+        assertEquals(1, metrics.forCommand("invalid").getCount());
+        assertEquals(0, metrics.forCommand("list").getSaveLatency().getCount());
+
+        String stats = duke.execute("stats");
+        assertTrue(stats.startsWith("Here are the statistics since Orion started:\nTasks in your list: 2\n"));
+        assertTrue(stats.contains("\ntodo: 2 executed, 0 failed\n  parse p50 "));
+
+        // the metrics of the first Duke in this JVM are the ones registered
+        CompositeData writeLatency = (CompositeData) ManagementFactory.getPlatformMBeanServer()
+                .getAttribute(new ObjectName("duke:type=Metrics"), "WriteLatency");
+        assertNotNull(writeLatency.get("p99Nanos"));
+    }
+}
@@ -46,14 +46,27 @@ public class ParserTest {
         assertEquals(new ListCommand(), Parser.parseCommand("list"));
     }
 
+    @Test
+    public void parseCommand_listCommandWithPage_success() throws DukeException {
+        assertEquals(new ListCommand(123, TaskManager.DEFAULT_PAGE_SIZE), Parser.parseCommand("list 123"));
+        assertEquals(new ListCommand(1, 20), Parser.parseCommand("list --page-size 20"));
+        assertEquals(new ListCommand(3, 20), Parser.parseCommand("list --page-size 20 3"));
+    }
+
     @Test
     public void parseCommand_listCommandWithArgument_exceptionThrown() {
         try {
-            Parser.parseCommand("list 123");
+            Parser.parseCommand("list all");
             fail();
         } catch (DukeException e) {
-            assertEquals("Oops!!! The list command should not be followed by any description"
-                    , e.getMessage());
+            assertEquals("Oops!!! Invalid argument of a list command", e.getMessage());
+        }
+
+        try {
+            Parser.parseCommand("list 0");
+            fail();
+        } catch (DukeException e) {
+            assertEquals("Oops!!! The page and page size of a list command should be positive", e.getMessage());
         }
     }
 
@@ -293,6 +306,43 @@ public class ParserTest {
         }
     }
 
+    @Test
+    public void parseCommand_bulkCommands_success() throws DukeException {
+        assertEquals(new BulkDeleteCommand(TaskSelection.parse("3-500")), Parser.parseCommand("delete 3-500"));
+        assertEquals(new BulkMarkCommand(TaskSelection.parse("1,4,9"), true), Parser.parseCommand("mark 1, 4,9"));
+        assertEquals(new BulkMarkCommand(TaskSelection.parse("2-3,7"), false), Parser.parseCommand("unmark 2 - 3,7"));
+        assertEquals(new BulkDeleteCommand(TaskSelection.parse("done")), Parser.parseCommand("delete done"));
+    }
+
+    @Test
+    public void parseCommand_bulkCommandWithInvalidRange_exceptionThrown() {
+        try {
+            Parser.parseCommand("delete 5-3");
+            fail();
+        } catch (DukeException e) {
+            assertEquals("Oops!!! Invalid argument of a delete command", e.getMessage());
+        }
+
+        try {
+            Parser.parseCommand("mark 1,,2");
+            fail();
+        } catch (DukeException e) {
+            assertEquals("Oops!!! Invalid argument of a mark command", e.getMessage());
+        }
+    }
+
+    @Test
+    public void parseCommand_integerEdgeCases_sameAsScanner() throws DukeException {
+        assertEquals(new MarkCommand(2), Parser.parseCommand("mark +2"));
+        assertEquals(new DeleteCommand(-2147483648), Parser.parseCommand("delete -2147483648"));
+        try {
+            Parser.parseCommand("unmark 2147483648");
+            fail();
+        } catch (DukeException e) {
+            assertEquals("Oops!!! Invalid argument of an unmark command", e.getMessage());
+        }
+    }
+
     @Test
     public void parseCommand_findCommand_success() throws DukeException {
         assertEquals(new FindCommand("test"), Parser.parseCommand("find test"));
@@ -308,6 +358,86 @@ public class ParserTest {
         }
     }
 
+    @Test
+    public void parseCommand_dueCommand_success() throws DukeException {
+        assertEquals(new DueCommand(LocalDate.parse("2026-10-01"), LocalDate.parse("2026-10-31")),
+                Parser.parseCommand("due 2026-10-01   2026-10-31"));
+        assertEquals(new DueCommand(LocalDate.parse("2026-10-17"), LocalDate.parse("2026-10-17")),
+                Parser.parseCommand("due 2026-10-17"));
+        assertEquals(new DueCommand(LocalDate.parse("2026-10-17"), LocalDate.parse("2026-10-17")),
+                Parser.parseCommand("on 2026-10-17"));
+    }
+
+    @Test
+    public void parseCommand_dueCommandInvalidRange_exceptionThrown() {
+        String[][] cases = {
+                {"due", "Oops!!! Please provide a range of dates for the due command"},
+                {"due 2026-10-31 2026-10-01", "Oops!!! End date of a due command should not be earlier "
+                        + "than the start date."},
+                {"due 2026-10-01 2026-10-31 2026-11-01", "Oops!!! Invalid argument of a due command"},
+                {"due 2026/10/01", "Oops!! the date format of due is incorrect, please use the format yyyy-mm-dd"},
+                {"on", "Oops!!! Please provide a date for the on command"},
+                {"on 2026-10-17 2026-10-18", "Oops!!! Invalid argument of an on command"},
+                {"on tomorrow", "Oops!! the date format of on is incorrect, please use the format yyyy-mm-dd"},
+        };
+        for (String[] c : cases) {
+            try {
+                Parser.parseCommand(c[0]);
+                fail();
+            } catch (DukeException e) {
+                assertEquals(c[1], e.getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void parseCommand_statsCommand_success() throws DukeException {
+        assertEquals(new StatsCommand(), Parser.parseCommand("  stats "));
+        try {
+            Parser.parseCommand("stats todo");
+            fail();
+        } catch (DukeException e) {
+            assertEquals("Oops!!! The stats command should not be followed by any description", e.getMessage());
+        }
+    }
+
+    @Test
+    public void parseCommand_undoAndRedoCommands_success() throws DukeException {
+        assertEquals(new UndoCommand(), Parser.parseCommand("undo"));
+        assertEquals(new RedoCommand(), Parser.parseCommand(" redo "));
+        try {
+            Parser.parseCommand("undo 2");
+            fail();
+        } catch (DukeException e) {
+            assertEquals("Oops!!! The undo command should not be followed by any description", e.getMessage());
+        }
+    }
+
+    @Test
+    public void parseCommand_abbreviatedCommand_success() throws DukeException {
+        assertEquals(new DeleteCommand(3), Parser.parseCommand("del 3"));
+        assertEquals(new MarkCommand(2), Parser.parseCommand("m 2"));
+        assertEquals(new DeadlineCommand("return book", LocalDate.parse("2023-01-01")),
+                Parser.parseCommand("dl return book /by 2023-01-01"));
+        assertEquals(new ListCommand(1, TaskManager.DEFAULT_PAGE_SIZE), Parser.parseCommand("ls"));
+    }
+
+    @Test
+    public void parseCommand_ambiguousAbbreviation_exceptionThrown() {
+        try {
+            Parser.parseCommand("de 3");
+            fail();
+        } catch (DukeException e) {
+            assertEquals("Oops!!! de could mean deadline or delete, please type more of the command", e.getMessage());
+        }
+        try {
+            Parser.parseCommand("b");
+            fail();
+        } catch (DukeException e) {
+            assertEquals("Oops!!! I'm sorry, but I don't know what that means :-(", e.getMessage());
+        }
+    }
+
     @Test
     public void parseCommand_unrecognisedCommand_exceptionThrown() {
         try {
@@ -0,0 +1,424 @@
+package duke;
+
+import org.junit.jupiter.api.Test;
+import task.Deadline;
+import task.Event;
+import task.Task;
+import task.Todo;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+
+public class TaskManagerTest {
+    /**
+     * Finds the matching tasks by checking every task, which is what find is expected to return.
+     */
+    private static String findByScanning(TaskManager taskManager, String pattern) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Here are the matching tasks in your list:\n");
+        boolean isFound = false;
+        for (int i = 0; i < taskManager.getTasks().size(); ++i) {
+            Task t = taskManager.getTasks().get(i);
+            if (t.descriptionContains(pattern)) {
+                isFound = true;
+                sb.append(i + 1 + ". ").append(t).append('\n');
+            }
+        }
+        return isFound ? sb.toString() : "There is no task that matched.";
+    }
+
+    @Test
+    public void find_substringAcrossTokens_success() {
+        TaskManager taskManager = new TaskManager();
+        taskManager.addTask(new Todo("read book"));
+        taskManager.addTask(new Todo("return  books"));
+        taskManager.addTask(new Todo("bookshelf"));
+
+        assertEquals("Here are the matching tasks in your list:\n"
+                + "1. [T][ ] read book\n", taskManager.find("d book"));
+        assertEquals("Here are the matching tasks in your list:\n"
+                + "1. [T][ ] read book\n"
+                + "2. [T][ ] return  books\n"
+                + "3. [T][ ] bookshelf\n", taskManager.find("ok"));
+        assertEquals("Here are the matching tasks in your list:\n"
+                + "2. [T][ ] return  books\n", taskManager.find("n  bo"));
+        assertEquals("There is no task that matched.", taskManager.find("ad  book"));
+    }
+
+    @Test
+    public void find_afterChanges_success() throws DukeException {
+        TaskManager taskManager = new TaskManager();
+        taskManager.addTask(new Todo("read book"));
+        taskManager.addTask(new Todo("play"));
+        assertEquals("There is no task that matched.", taskManager.find("sleep"));
+
+        taskManager.addTask(new Todo("sleep"));
+        taskManager.getTasks().get(0).setDescription("sleep early");
+        taskManager.deleteTask(2);
+        assertEquals("Here are the matching tasks in your list:\n"
+                + "1. [T][ ] sleep early\n"
+                + "2. [T][ ] sleep\n", taskManager.find("sleep"));
+        assertEquals("There is no task that matched.", taskManager.find("book"));
+    }
+
+    @Test
+    public void find_randomTasks_sameAsScanning() throws DukeException {
+        Random random = new Random(2103);
+        String[] words = {"read", "book", "return", "bookshelf", "a", "meeting", "project", "books"};
+        TaskManager taskManager = new TaskManager();
+        for (int i = 0; i < 500; ++i) {
+            StringBuilder description = new StringBuilder();
+            for (int j = random.nextInt(4); j >= 0; --j) {
+                description.append(words[random.nextInt(words.length)]).append(random.nextBoolean() ? " " : "  ");
+            }
+            taskManager.addTask(new Todo(description.toString().trim()));
+            if (random.nextInt(5) == 0) {
+                taskManager.deleteTask(random.nextInt(taskManager.getTasks().size()) + 1);
+            }
+
+            String pattern = words[random.nextInt(words.length)].substring(1) + " " + words[random.nextInt(3)];
+            assertEquals(findByScanning(taskManager, pattern), taskManager.find(pattern));
+            assertEquals(findByScanning(taskManager, "ok"), taskManager.find("ok"));
+        }
+    }
+
+    @Test
+    public void find_randomSubstrings_sameAsScanning() throws DukeException {
+        Random random = new Random(2113);
+        String alphabet = "abc d";
+        TaskManager taskManager = new TaskManager();
+        for (int i = 0; i < 300; ++i) {
+            StringBuilder description = new StringBuilder("x");
+            for (int j = random.nextInt(12); j >= 0; --j) {
+                description.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            taskManager.addTask(new Todo(description.toString()));
+            int size = taskManager.getTasks().size();
+            if (random.nextInt(5) == 0) {
+                taskManager.deleteTask(random.nextInt(size) + 1);
+            } else if (random.nextInt(5) == 0) {
+                Task task = taskManager.getTasks().get(random.nextInt(size));
+                task.setDescription(task.getDescription() + alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+
+            StringBuilder pattern = new StringBuilder();
+            for (int j = random.nextInt(5); j >= 0; --j) {
+                pattern.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            assertEquals(findByScanning(taskManager, pattern.toString()), taskManager.find(pattern.toString()));
+        }
+    }
+
+    /**
+     * Finds the tasks on the dates by checking every task, which is what findByDate is expected to list.
+     */
+    private static String findByDateByScanning(TaskManager taskManager, LocalDate from, LocalDate to) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < taskManager.getTasks().size(); ++i) {
+            Task t = taskManager.getTasks().get(i);
+            boolean isOn = false;
+            if (t instanceof Deadline) {
+                LocalDate deadline = ((Deadline) t).getDeadline();
+                isOn = !deadline.isBefore(from) && !deadline.isAfter(to);
+            } else if (t instanceof Event) {
+                isOn = !((Event) t).getStart().isAfter(to) && !((Event) t).getEnd().isBefore(from);
+            }
+            if (isOn) {
+                sb.append(i + 1 + ". ").append(t).append('\n');
+            }
+        }
+        return sb.toString();
+    }
+
+    @Test
+    public void findByDate_deadlinesAndEvents_success() throws DukeException {
+        TaskManager taskManager = new TaskManager();
+        taskManager.addTask(new Deadline("return book", LocalDate.parse("2026-10-17")));
+        taskManager.addTask(new Todo("read book"));
+        taskManager.addTask(new Event("project week", LocalDate.parse("2026-10-12"), LocalDate.parse("2026-10-18")));
+        taskManager.addTask(new Deadline("submit report", LocalDate.parse("2026-10-31")));
+
+        assertEquals("Here are the tasks due or happening on Oct 17 2026:\n"
+                + "1. [D][ ] return book (by: Oct 17 2026)\n"
+                + "3. [E][ ] project week (from: Oct 12 2026 to: Oct 18 2026)\n",
+                taskManager.findByDate(LocalDate.parse("2026-10-17"), LocalDate.parse("2026-10-17")));
+        assertEquals("Here are the tasks due or happening from Oct 19 2026 to Oct 31 2026:\n"
+                + "4. [D][ ] submit report (by: Oct 31 2026)\n",
+                taskManager.findByDate(LocalDate.parse("2026-10-19"), LocalDate.parse("2026-10-31")));
+
+        taskManager.deleteTask(1);
+        ((Event) taskManager.getTasks().get(1)).setEnd(LocalDate.parse("2026-10-16"));
+        assertEquals("There is no task due or happening on Oct 17 2026.",
+                taskManager.findByDate(LocalDate.parse("2026-10-17"), LocalDate.parse("2026-10-17")));
+    }
+
+    @Test
+    public void findByDate_randomTasks_sameAsScanning() throws DukeException {
+        Random random = new Random(2119);
+        LocalDate origin = LocalDate.parse("2026-01-01");
+        TaskManager taskManager = new TaskManager();
+        for (int i = 0; i < 400; ++i) {
+            LocalDate date = origin.plusDays(random.nextInt(60));
+            int kind = random.nextInt(3);
+            if (kind == 0) {
+                taskManager.addTask(new Todo("todo " + i));
+            } else if (kind == 1) {
+                taskManager.addTask(new Deadline("deadline " + i, date));
+            } else {
+                taskManager.addTask(new Event("event " + i, date, date.plusDays(random.nextInt(10))));
+            }
+
+            int size = taskManager.getTasks().size();
+            if (random.nextInt(5) == 0) {
+                taskManager.deleteTask(random.nextInt(size) + 1);
+            } else if (random.nextInt(5) == 0) {
+                Task task = taskManager.getTasks().get(random.nextInt(size));
+                if (task instanceof Deadline) {
+                    ((Deadline) task).setDeadline(origin.plusDays(random.nextInt(60)));
+                } else if (task instanceof Event) {
+                    ((Event) task).setStart(((Event) task).getEnd().minusDays(random.nextInt(5)));
+                }
+            } else if (i > 10 && random.nextInt(4) == 0) {
+                // undoing deletes puts tasks back in the middle of the list
+                for (int j = random.nextInt(4); j >= 0; --j) {
+                    taskManager.undo();
+                }
+                if (random.nextBoolean()) {
+                    taskManager.redo();
+                }
+            }
+
+            LocalDate from = origin.plusDays(random.nextInt(70) - 5);
+            LocalDate to = from.plusDays(random.nextInt(8));
+            String actual = taskManager.findByDate(from, to);
+            String listed = actual.startsWith("There is no task") ? "" : actual.substring(actual.indexOf('\n') + 1);
+            assertEquals(findByDateByScanning(taskManager, from, to), listed);
+        }
+    }
+
+    @Test
+    public void listTasks_afterChanges_renderedAgain() throws DukeException {
+        TaskManager taskManager = new TaskManager();
+        taskManager.addTask(new Todo("read book"));
+        taskManager.addTask(new Deadline("return book", LocalDate.parse("2023-06-06")));
+        taskManager.addTask(new Event("project meeting", LocalDate.parse("2023-08-06"), LocalDate.parse("2023-08-07")));
+        assertEquals("Here are the tasks in your list:\n"
+                + "1.[T][ ] read book\n"
+                + "2.[D][ ] return book (by: Jun 6 2023)\n"
+                + "3.[E][ ] project meeting (from: Aug 6 2023 to: Aug 7 2023)\n", taskManager.listTasks());
+
+        taskManager.markTask(1, true);
+        taskManager.getTasks().get(0).setDescription("read books");
+        ((Deadline) taskManager.getTasks().get(1)).setDeadline(LocalDate.parse("2023-06-07"));
+        ((Event) taskManager.getTasks().get(2)).setStart(LocalDate.parse("2023-08-05"));
+        ((Event) taskManager.getTasks().get(2)).setEnd(LocalDate.parse("2023-08-08"));
+        assertEquals("Here are the tasks in your list:\n"
+                + "1.[T][X] read books\n"
+                + "2.[D][ ] return book (by: Jun 7 2023)\n"
+                + "3.[E][ ] project meeting (from: Aug 5 2023 to: Aug 8 2023)\n", taskManager.listTasks());
+    }
+
+    @Test
+    public void listTasks_pages_success() throws DukeException {
+        TaskManager taskManager = new TaskManager();
+        for (int i = 1; i <= 5; ++i) {
+            taskManager.addTask(new Todo("task " + i));
+        }
+
+        assertEquals("Here are the tasks in your list:\n"
+                + "1.[T][ ] task 1\n"
+                + "2.[T][ ] task 2\n"
+                + "Page 1 of 3, enter list 2 to see more.\n", taskManager.listTasks(1, 2));
+        assertEquals("Here are the tasks in your list:\n"
+                + "5.[T][ ] task 5\n", taskManager.listTasks(3, 2));
+        assertEquals(5, taskManager.listTasks().lines().count() - 1);
+        try {
+            taskManager.listTasks(4, 2);
+            fail();
+        } catch (DukeException e) {
+            assertEquals("Oops!!! There are only 3 pages of tasks in your list", e.getMessage());
+        }
+    }
+
+    @Test
+    public void concurrentReadsAndWrites_noTaskLost() throws Exception {
+        TaskManager taskManager = new TaskManager();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 4; ++i) {
+            int writer = i;
+            futures.add(executor.submit(() -> {
+                for (int j = 0; j < 500; ++j) {
+                    taskManager.addTask(new Todo("writer" + writer + " task" + j));
+                }
+            }));
+            futures.add(executor.submit(() -> {
+                for (int j = 0; j < 200; ++j) {
+                    taskManager.find("task" + j);
+                    taskManager.listTasks();
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertEquals(2000, taskManager.getTasks().size());
+        assertEquals(findByScanning(taskManager, "task49"), taskManager.find("task49"));
+    }
+
+    @Test
+    public void deleteTasks_outOfRange_nothingDeleted() throws DukeException {
+        TaskManager taskManager = new TaskManager();
+        for (int i = 1; i <= 3; ++i) {
+            taskManager.addTask(new Todo("task " + i));
+        }
+
+        try {
+            taskManager.selectTasks(TaskSelection.parse("2-4"));
+            fail();
+        } catch (DukeException e) {
+            assertEquals("Oops!!! There are only 3 tasks in your list", e.getMessage());
+        }
+        assertEquals("Noted! I've removed 2 tasks:\n  [T][ ] task 1\n  [T][ ] task 3\n"
+                + "Now you have 1 tasks in the list.\n", taskManager.deleteTasks(new int[] {1, 3}));
+        assertEquals("1.[T][ ] task 2", taskManager.listTasks().lines().skip(1).findFirst().orElse(""));
+    }
+
+    @Test
+    public void undo_changes_revertedInReverseOrder() throws DukeException {
+        TaskManager taskManager = new TaskManager();
+        for (int i = 1; i <= 5; ++i) {
+            taskManager.addTask(new Todo("task " + i));
+        }
+        String original = taskManager.toString();
+        // build the index, so that the tasks put back have to be indexed again
+        assertEquals(findByScanning(taskManager, "task"), taskManager.find("task"));
+
+        taskManager.markTasks(new int[] {2, 4}, true);
+        taskManager.deleteTasks(new int[] {1, 4});
+        taskManager.deleteTask(2);
+        assertEquals("[T][X] task 2[T][ ] task 5", taskManager.toString());
+
+        assertEquals("I've put back 1 task:\n  [T][ ] task 3\n", taskManager.undo().describe());
+        assertEquals("I've put back 2 tasks:\n  [T][ ] task 1\n  [T][X] task 4\n", taskManager.undo().describe());
+        assertEquals(findByScanning(taskManager, "task"), taskManager.find("task"));
+        taskManager.undo();
+        assertEquals(original, taskManager.toString());
+        assertEquals(findByScanning(taskManager, "task"), taskManager.find("task"));
+
+        // marking a task as it already is leaves nothing to undo
+        taskManager.markTask(1, false);
+        for (int i = 0; i < 5; ++i) {
+            taskManager.undo();
+        }
+        assertEquals("", taskManager.toString());
+        try {
+            taskManager.undo();
+            fail();
+        } catch (DukeException e) {
+            assertEquals("Oops!!! There is nothing to undo", e.getMessage());
+        }
+    }
+
+    @Test
+    public void undo_deleteOfLastTasks_putBackInOrder() throws DukeException {
+        TaskManager taskManager = new TaskManager();
+        for (int i = 1; i <= 5; ++i) {
+            taskManager.addTask(new Todo("task " + i));
+        }
+        String original = taskManager.toString();
+
+        taskManager.deleteTasks(new int[] {3, 4, 5});
+        assertEquals("I've put back 3 tasks:\n  [T][ ] task 3\n  [T][ ] task 4\n  [T][ ] task 5\n",
+                taskManager.undo().describe());
+        assertEquals(original, taskManager.toString());
+        taskManager.redo();
+        assertEquals("[T][ ] task 1[T][ ] task 2", taskManager.toString());
+        taskManager.undo();
+        assertEquals(original, taskManager.toString());
+
+        taskManager.deleteTasks(new int[] {1, 5});
+        taskManager.undo();
+        assertEquals(original, taskManager.toString());
+        taskManager.redo();
+
+        // a change that no longer fits the list is neither undone nor skipped
+        List<Task> remaining = new ArrayList<>(taskManager.getTasks());
+        taskManager.getTasks().clear();
+        try {
+            taskManager.undo();
+            fail();
+        } catch (DukeException e) {
+            assertEquals("Please input a valid index for the task to be inserted", e.getMessage());
+        }
+        taskManager.getTasks().addAll(remaining);
+        taskManager.undo();
+        assertEquals(original, taskManager.toString());
+
+        List<Task> all = new ArrayList<>(taskManager.getTasks());
+        taskManager.getTasks().clear();
+        try {
+            taskManager.redo();
+            fail();
+        } catch (DukeException e) {
+            assertEquals("Please input a valid index for the task to removed", e.getMessage());
+        }
+        taskManager.getTasks().addAll(all);
+        assertEquals("I've removed 2 tasks:\n  [T][ ] task 1\n  [T][ ] task 5\n", taskManager.redo().describe());
+        assertEquals("[T][ ] task 2[T][ ] task 3[T][ ] task 4", taskManager.toString());
+    }
+
+    @Test
+    public void redo_undoneChanges_madeAgain() throws DukeException {
+        TaskManager taskManager = new TaskManager();
+        taskManager.addTask(new Todo("read"));
+        taskManager.addTask(new Todo("play"));
+        taskManager.markTask(2, true);
+        taskManager.undo();
+        taskManager.undo();
+        assertEquals("[T][ ] read", taskManager.toString());
+
+        assertEquals("I've put back 1 task:\n  [T][ ] play\n", taskManager.redo().describe());
+        assertEquals("I've marked 1 task as done:\n  [T][X] play\n", taskManager.redo().describe());
+        assertEquals("[T][ ] read[T][X] play", taskManager.toString());
+
+        // a new change discards the changes left to redo
+        taskManager.undo();
+        taskManager.deleteTask(1);
+        try {
+            taskManager.redo();
+            fail();
+        } catch (DukeException e) {
+            assertEquals("Oops!!! There is nothing to redo", e.getMessage());
+        }
+        assertEquals("[T][ ] play", taskManager.toString());
+    }
+
+    @Test
+    public void undo_moreChangesThanHistory_oldestForgotten() throws DukeException {
+        TaskManager taskManager = new TaskManager();
+        for (int i = 0; i < TaskManager.HISTORY_SIZE + 10; ++i) {
+            taskManager.addTask(new Todo("task " + i));
+        }
+        for (int i = 0; i < TaskManager.HISTORY_SIZE; ++i) {
+            taskManager.undo();
+        }
+        assertEquals(10, taskManager.getTasks().size());
+        try {
+            taskManager.undo();
+            fail();
+        } catch (DukeException e) {
+            assertEquals("Oops!!! There is nothing to undo", e.getMessage());
+        }
+    }
+}
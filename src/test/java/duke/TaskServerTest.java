@@ -0,0 +1,85 @@
+package duke;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class TaskServerTest {
+    private static final File DATA_FILE = new File("src/test/resources/server.json");
+    private TaskServer server;
+    private Thread serverThread;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        tearDownFiles();
+        server = new TaskServer(new Duke("src/test/resources", "server.json"), 0, 4);
+        serverThread = new Thread(() -> {
+            try {
+                server.run();
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        serverThread.start();
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        server.close();
+        serverThread.join();
+        tearDownFiles();
+    }
+
+    private static void tearDownFiles() {
+        DATA_FILE.delete();
+        new File(DATA_FILE.getPath() + ".journal").delete();
+    }
+
+    @Test
+    public void run_pipelinedCommands_respondedInOrder() throws Exception {
+        try (Socket socket = new Socket("localhost", server.getPort())) {
+            OutputStream out = socket.getOutputStream();
+            BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            out.write("todo read book\r\ntodo .hidden\nlist\nblah\nbye\nlist\n".getBytes(StandardCharsets.UTF_8));
+            out.flush();
+
+            assertEquals("Got it. I've added this task:\n  [T][ ] read book\nNow you have 1 tasks in the list.\n",
+                    LoadGenerator.readResponse(reader));
+            assertEquals("Got it. I've added this task:\n  [T][ ] .hidden\nNow you have 2 tasks in the list.\n",
+                    LoadGenerator.readResponse(reader));
+            assertEquals("Here are the tasks in your list:\n1.[T][ ] read book\n2.[T][ ] .hidden\n",
+                    LoadGenerator.readResponse(reader));
+            assertEquals("Oops!!! I'm sorry, but I don't know what that means :-(\n",
+                    LoadGenerator.readResponse(reader));
+            // the exit command ends the session, so the last list is never executed
+            assertEquals("", LoadGenerator.readResponse(reader));
+            assertNull(LoadGenerator.readResponse(reader));
+        }
+    }
+
+    @Test
+    public void run_manyClients_noTaskLost() throws Exception {
+        LoadGenerator generator = new LoadGenerator("localhost", server.getPort(), List.of("todo task {n}", "list"));
+        long[] latencies = generator.run(50, 20);
+
+        assertEquals(1000, latencies.length);
+        try (Socket socket = new Socket("localhost", server.getPort())) {
+            socket.getOutputStream().write("find task\n".getBytes(StandardCharsets.UTF_8));
+            String response = LoadGenerator.readResponse(new BufferedReader(
+                    new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8)));
+            assertEquals(501, response.split("\n").length);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LatencyHistogramTest {
+    @Test
+    public void bucketOf_everyBucket_containsItsHighestValue() {
+        long previous = -1;
+        for (int bucket = 0; LatencyHistogram.highestValueOf(bucket) > previous; ++bucket) {
+            long highest = LatencyHistogram.highestValueOf(bucket);
+            assertEquals(bucket, LatencyHistogram.bucketOf(previous + 1));
+            assertEquals(bucket, LatencyHistogram.bucketOf(highest));
+            previous = highest;
+            if (highest == Long.MAX_VALUE) {
+                break;
+            }
+        }
+        assertEquals(Long.MAX_VALUE, previous);
+    }
+
+    @Test
+    public void snapshot_randomLatencies_withinPrecision() {
+        Random random = new Random(2203);
+        LatencyHistogram histogram = new LatencyHistogram();
+        long[] latencies = new long[10000];
+        for (int i = 0; i < latencies.length; ++i) {
+            latencies[i] = (long) Math.exp(random.nextDouble() * 20);
+            histogram.record(latencies[i]);
+        }
+        Arrays.sort(latencies);
+
+        LatencySnapshot snapshot = histogram.snapshot();
+        assertEquals(latencies.length, snapshot.getCount());
+        assertEquals(latencies[latencies.length - 1], snapshot.getMaxNanos());
+        long[] expected = {latencies[4999], latencies[8999], latencies[9899]};
+        long[] actual = {snapshot.getP50Nanos(), snapshot.getP90Nanos(), snapshot.getP99Nanos()};
+        for (int i = 0; i < expected.length; ++i) {
+            assertTrue(actual[i] >= expected[i] && actual[i] <= expected[i] * 1.04 + 1,
+                    expected[i] + " should be close to " + actual[i]);
+        }
+    }
+}
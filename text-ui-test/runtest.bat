@@ -3,19 +3,22 @@
 REM create bin directory if it doesn't exist
 if not exist ..\bin mkdir ..\bin
 
-REM delete output from previous run
+REM delete output and saved tasks from previous run
 if exist ACTUAL.TXT del ACTUAL.TXT
+if exist data rmdir /s /q data
 
-REM compile the code into the bin folder
-javac  -cp ..\src\main\java -Xlint:none -d ..\bin ..\src\main\java\*.java
+REM build the code with Gradle
+cd ..
+call gradlew.bat build
 IF ERRORLEVEL 1 (
     echo ********** BUILD FAILURE **********
     exit /b 1
 )
 REM no error here, errorlevel == 0
 
-REM run the program, feed commands from input.txt file and redirect the output to the ACTUAL.TXT
-java -classpath ..\bin Duke < input.txt > ACTUAL.TXT
+REM run the program without the GUI, feed commands from input.txt file and redirect the output to the ACTUAL.TXT
+call gradlew.bat -q batch --args="--data text-ui-test/data/tasks.json" < text-ui-test\input.txt > text-ui-test\ACTUAL.TXT
+cd text-ui-test
 
 REM compare the output to the expected output
 FC ACTUAL.TXT EXPECTED.TXT
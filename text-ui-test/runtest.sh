@@ -6,11 +6,12 @@ then
     mkdir ../bin
 fi
 
-# delete output from previous run
+# delete output and saved tasks from previous run
 if [ -e "./ACTUAL.TXT" ]
 then
     rm ACTUAL.TXT
 fi
+rm -rf ./data
 
 cd ".."
 
@@ -23,8 +24,8 @@ if [ $? -ne 0 ]; then
     exit 1
 fi
 
-# Run the program, feed commands from input.txt file, and redirect the output to ACTUAL.TXT
-./gradlew run < text-ui-test/input.txt > text-ui-test/ACTUAL.TXT
+# Run the program without the GUI, feed commands from input.txt file, and redirect the output to ACTUAL.TXT
+./gradlew -q batch --args="--data text-ui-test/data/tasks.json" < text-ui-test/input.txt > text-ui-test/ACTUAL.TXT
 
 cd "./text-ui-test"
 